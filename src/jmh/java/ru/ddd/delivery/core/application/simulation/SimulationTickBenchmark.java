@@ -0,0 +1,85 @@
+package ru.ddd.delivery.core.application.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Speed;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.delivery.core.domain.services.OrderDispatcherImpl;
+
+/**
+ * Длительность такта при установившейся нагрузке: сколько заказов доставлено за такт, столько новых и подаётся.
+ * Помогает оценить, сколько курьеров тянет один узел при заданном периоде такта.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SimulationTickBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int fleetSize;
+
+    @Param({ "256", "1024", "4096" })
+    public int partitionSize;
+
+    private final Random random = new Random(42);
+    private ForkJoinPool pool;
+    private DeliverySimulation simulation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Courier> couriers = new ArrayList<>(fleetSize);
+        for (int i = 0; i < fleetSize; i++) {
+            couriers.add(Courier.create("k" + i, Speed.create(1 + random.nextInt(3)).getValue(), randomLocation()).getValue());
+        }
+        pool = new ForkJoinPool();
+        simulation = new DeliverySimulation(couriers, new OrderDispatcherImpl(), pool, partitionSize);
+        submitOrders(fleetSize / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public TickReport tick() {
+        TickReport report = simulation.tick();
+        submitOrders(report.completed());
+        return report;
+    }
+
+    private void submitOrders(int count) {
+        for (int i = 0; i < count; i++) {
+            simulation.submit(Order.create(UUID.randomUUID(), randomLocation(), Volume.create(1 + random.nextInt(10)).getValue()).getValue());
+        }
+    }
+
+    private Location randomLocation() {
+        return Location.create(1 + random.nextInt(10), 1 + random.nextInt(10)).getValue();
+    }
+}
@@ -0,0 +1,46 @@
+package ru.ddd.delivery.core.domain.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.ddd.libs.errs.Error;
+import ru.ddd.libs.errs.IntResult;
+import ru.ddd.libs.errs.Result;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LocationBenchmark {
+
+    private final Location from = Location.create(2, 3).getValue();
+    private final Location to = Location.create(9, 7).getValue();
+    private int x = 1;
+
+    @Benchmark
+    public Result<Integer, Error> distanceTo() {
+        return from.distanceTo(to);
+    }
+
+    @Benchmark
+    public IntResult<Error> distanceToAsInt() {
+        return from.distanceToAsInt(to);
+    }
+
+    @Benchmark
+    public Result<Location, Error> create() {
+        x = x % 10 + 1;
+        return Location.create(x, 11 - x);
+    }
+}
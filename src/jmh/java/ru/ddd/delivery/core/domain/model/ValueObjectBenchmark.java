@@ -0,0 +1,69 @@
+package ru.ddd.delivery.core.domain.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * equals/hashCode/compareTo базового ValueObject на конкретных объектах-значениях.
+ * Равные Location берутся из кэша и совпадают по ссылке. Speed и Volume взяты вне кэша,
+ * поэтому для них сравниваются разные, но равные экземпляры.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ValueObjectBenchmark {
+
+    private final Location location = Location.create(4, 6).getValue();
+    private final Location sameLocation = Location.create(4, 6).getValue();
+    private final Speed speed = Speed.create(1000).getValue();
+    private final Speed sameSpeed = Speed.create(1000).getValue();
+    private final Volume volume = Volume.create(1000).getValue();
+    private final Volume sameVolume = Volume.create(1000).getValue();
+
+    @Benchmark
+    public boolean locationEquals() {
+        return location.equals(sameLocation);
+    }
+
+    @Benchmark
+    public int locationHashCode() {
+        return location.hashCode();
+    }
+
+    @Benchmark
+    public int locationCompareTo() {
+        return location.compareTo(sameLocation);
+    }
+
+    @Benchmark
+    public boolean speedEquals() {
+        return speed.equals(sameSpeed);
+    }
+
+    @Benchmark
+    public int speedHashCode() {
+        return speed.hashCode();
+    }
+
+    @Benchmark
+    public boolean volumeEquals() {
+        return volume.equals(sameVolume);
+    }
+
+    @Benchmark
+    public int volumeHashCode() {
+        return volume.hashCode();
+    }
+}
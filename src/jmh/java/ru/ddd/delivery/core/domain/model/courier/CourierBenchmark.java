@@ -0,0 +1,82 @@
+package ru.ddd.delivery.core.domain.model.courier;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Speed;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.libs.errs.DoubleResult;
+import ru.ddd.libs.errs.Error;
+import ru.ddd.libs.errs.Result;
+import ru.ddd.libs.errs.UnitResult;
+
+/**
+ * Операции курьера на пути распределения. storagePlaces - число мест хранения, все кроме последнего заняты:
+ * так видно, что проверка и выбор места не зависят от числа занятых мест.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CourierBenchmark {
+
+    @Param({ "1", "8", "32", "256" })
+    public int storagePlaces;
+
+    private Courier courier;
+    private Order order;
+    private Location target;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var volume = Volume.create(10).getValue();
+        for (int i = 1; i < storagePlaces; i++) {
+            courier.addStoragePlace("place" + i, volume);
+        }
+        for (int i = 1; i < storagePlaces; i++) {
+            var filler = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), volume).getValue();
+            courier.takeOrder(filler);
+        }
+        order = Order.create(UUID.randomUUID(), Location.create(7, 3).getValue(), Volume.create(5).getValue()).getValue();
+        target = order.getLocation();
+    }
+
+    @Benchmark
+    public Result<Boolean, Error> canTakeOrder() {
+        return courier.canTakeOrder(order);
+    }
+
+    @Benchmark
+    public UnitResult<Error> takeAndCompleteOrder() {
+        courier.takeOrder(order);
+        return courier.completeOrder(order);
+    }
+
+    @Benchmark
+    public Result<Double, Error> calculateTimeToLocation() {
+        return courier.calculateTimeToLocation(target);
+    }
+
+    @Benchmark
+    public DoubleResult<Error> calculateTimeToLocationAsDouble() {
+        return courier.calculateTimeToLocationAsDouble(target);
+    }
+}
@@ -0,0 +1,127 @@
+package ru.ddd.delivery.core.domain.model.courier;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Speed;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.libs.errs.Error;
+import ru.ddd.libs.errs.UnitResult;
+
+/**
+ * Симуляция загрузки фургона с местами разного объёма при разных стратегиях выбора места.
+ * Каждый шаг - очередной заказ; если его некуда положить, курьер едет доставлять самый старый заказ.
+ * Счётчики: rejectedOrders - лишние поездки из-за отказов, storedVolume/capacityVolume - средняя загрузка мест.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StoragePlaceAllocationBenchmark {
+
+    private static final int[] COMPARTMENTS = { 5, 5, 10, 10, 20, 20, 40, 80 };
+    private static final int ORDER_POOL_SIZE = 4096;
+
+    @Param({ "FIRST_FIT", "BEST_FIT", "WORST_FIT" })
+    public StoragePlaceAllocation allocation;
+
+    @Param({ "parcels", "uniform", "bimodal" })
+    public String volumes;
+
+    private Courier courier;
+    private Order[] orders;
+    private ArrayDeque<Order> held;
+    private int next;
+    private int storedVolume;
+    private int capacityVolume;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Utilization {
+        public long takenOrders;
+        public long rejectedOrders;
+        public long storedVolume;
+        public long capacityVolume;
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        courier = Courier.create("van", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        capacityVolume = 10;
+        for (int compartment : COMPARTMENTS) {
+            courier.addStoragePlace("compartment", Volume.create(compartment).getValue());
+            capacityVolume += compartment;
+        }
+        courier.changeStoragePlaceAllocation(allocation);
+
+        var random = new Random(42);
+        var location = Location.create(5, 5).getValue();
+        orders = new Order[ORDER_POOL_SIZE];
+        for (int i = 0; i < orders.length; i++) {
+            orders[i] = Order.create(UUID.randomUUID(), location, Volume.create(nextVolume(random)).getValue()).getValue();
+        }
+        held = new ArrayDeque<>();
+        next = 0;
+        storedVolume = 0;
+    }
+
+    private int nextVolume(Random random) {
+        int p = random.nextInt(100);
+        return switch (volumes) {
+            case "parcels" -> p < 70 ? 1 + random.nextInt(5) : p < 95 ? 6 + random.nextInt(10) : 16 + random.nextInt(45);
+            case "bimodal" -> p < 60 ? 1 + random.nextInt(5) : 30 + random.nextInt(31);
+            default -> 1 + random.nextInt(40);
+        };
+    }
+
+    @Benchmark
+    public UnitResult<Error> step(Utilization utilization) {
+        Order order = orders[next];
+        // Заказ из пула снова попадает в симуляцию только после доставки
+        while (held.contains(order)) {
+            deliverOldest();
+        }
+        next = (next + 1) & (ORDER_POOL_SIZE - 1);
+
+        UnitResult<Error> result = courier.takeOrder(order);
+        if (result.isSuccess()) {
+            held.addLast(order);
+            storedVolume += order.getVolume().getValue();
+            utilization.takenOrders++;
+        } else {
+            utilization.rejectedOrders++;
+            if (!held.isEmpty()) {
+                deliverOldest();
+            }
+        }
+        utilization.storedVolume += storedVolume;
+        utilization.capacityVolume += capacityVolume;
+        return result;
+    }
+
+    private void deliverOldest() {
+        Order delivered = held.removeFirst();
+        courier.completeOrder(delivered);
+        storedVolume -= delivered.getVolume().getValue();
+    }
+}
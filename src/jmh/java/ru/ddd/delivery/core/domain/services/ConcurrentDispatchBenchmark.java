@@ -0,0 +1,73 @@
+package ru.ddd.delivery.core.domain.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Speed;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.libs.errs.Error;
+import ru.ddd.libs.errs.Result;
+
+/**
+ * Распределение из нескольких потоков по общему парку. Масштабирование смотреть, меняя число потоков:
+ * -Djmh.args="ConcurrentDispatch -t 1", затем -t 2, -t 4 и т.д.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentDispatchBenchmark {
+
+    @Param({ "1000" })
+    public int fleetSize;
+
+    private final OrderDispatcher dispatcher = new OrderDispatcherImpl();
+    private final Volume volume = Volume.create(5).getValue();
+
+    private List<Courier> couriers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var random = new Random(42);
+        couriers = new ArrayList<>(fleetSize);
+        for (int i = 0; i < fleetSize; i++) {
+            couriers.add(Courier.create("k" + i,
+                    Speed.create(1 + random.nextInt(3)).getValue(),
+                    Location.create(1 + random.nextInt(10), 1 + random.nextInt(10)).getValue()).getValue());
+        }
+    }
+
+    @Benchmark
+    public Result<Courier, Error> dispatch() {
+        var random = ThreadLocalRandom.current();
+        var location = Location.create(1 + random.nextInt(10), 1 + random.nextInt(10)).getValue();
+        var order = Order.create(UUID.randomUUID(), location, volume).getValue();
+        Result<Courier, Error> result = dispatcher.dispatch(order, couriers);
+        if (result.isSuccess()) {
+            result.getValue().completeOrder(order);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,101 @@
+package ru.ddd.delivery.core.domain.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Speed;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.libs.errs.Error;
+import ru.ddd.libs.errs.Result;
+
+/**
+ * Жадное и оптимальное пакетное распределение на одном и том же пакете.
+ * Помимо времени выводит счётчики качества: число распределённых заказов и суммарное время в пути.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class DispatchAllBenchmark {
+
+    @Param({ "100", "1000", "5000" })
+    public int batchSize;
+
+    @Param({ "greedy", "optimal" })
+    public String dispatcherType;
+
+    @Param({ "200" })
+    public int timeBudgetMillis;
+
+    private OrderDispatcher dispatcher;
+    private List<Order> orders;
+    private List<Courier> couriers;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Quality {
+        public long assignedOrders;
+        public long totalTravelTime;
+    }
+
+    @Setup(Level.Trial)
+    public void setUpDispatcher() {
+        dispatcher = "optimal".equals(dispatcherType)
+                ? new OptimalOrderDispatcher(Duration.ofMillis(timeBudgetMillis))
+                : new OrderDispatcherImpl();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpBatch() {
+        var random = new Random(42);
+        couriers = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            couriers.add(Courier.create("k" + i,
+                    Speed.create(1 + random.nextInt(3)).getValue(),
+                    Location.create(1 + random.nextInt(10), 1 + random.nextInt(10)).getValue()).getValue());
+        }
+        orders = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            orders.add(Order.create(UUID.randomUUID(),
+                    Location.create(1 + random.nextInt(10), 1 + random.nextInt(10)).getValue(),
+                    Volume.create(1 + random.nextInt(10)).getValue()).getValue());
+        }
+    }
+
+    @Benchmark
+    public Map<UUID, Result<Courier, Error>> dispatchAll(Quality quality) {
+        Map<UUID, Result<Courier, Error>> results = dispatcher.dispatchAll(orders, couriers);
+        for (Order order : orders) {
+            Result<Courier, Error> result = results.get(order.getId());
+            if (result.isSuccess()) {
+                quality.assignedOrders++;
+                quality.totalTravelTime += result.getValue().calculateTimeToLocation(order.getLocation()).getValue().longValue();
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,105 @@
+package ru.ddd.delivery.core.domain.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Speed;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.libs.errs.Error;
+import ru.ddd.libs.errs.Result;
+
+/**
+ * Поиск самого быстрого курьера под заказ: проход по курьерам через Result-методы, скалярный проход
+ * по колонкам и векторный проход по тем же колонкам. Векторная реализация нужна в сборке: -Pjmh,vector.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector", "-Xmx4g" })
+@State(Scope.Thread)
+public class EtaKernelBenchmark {
+
+    @Param({ "10000", "100000", "1000000" })
+    public int fleetSize;
+
+    private List<Courier> couriers;
+    private int[] x;
+    private int[] y;
+    private int[] speed;
+    private int[] maxFreeVolume;
+    private final EtaKernel scalar = ScalarEtaKernel.INSTANCE;
+    private final EtaKernel vector = EtaKernel.vector().orElseThrow();
+    private Order order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var random = new Random(42);
+        couriers = new ArrayList<>(fleetSize);
+        x = new int[fleetSize];
+        y = new int[fleetSize];
+        speed = new int[fleetSize];
+        maxFreeVolume = new int[fleetSize];
+        for (int i = 0; i < fleetSize; i++) {
+            var courier = Courier.create("k" + i, Speed.create(1 + random.nextInt(5)).getValue(),
+                    Location.create(1 + random.nextInt(10), 1 + random.nextInt(10)).getValue()).getValue();
+            if (random.nextInt(4) == 0) {
+                courier.takeOrder(Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(10).getValue()).getValue());
+            }
+            couriers.add(courier);
+            x[i] = courier.getLocation().getX();
+            y[i] = courier.getLocation().getY();
+            speed[i] = courier.getSpeed().getValue();
+            maxFreeVolume[i] = courier.getMaxFreeVolume();
+        }
+        order = Order.create(UUID.randomUUID(), Location.create(7, 3).getValue(), Volume.create(5).getValue()).getValue();
+    }
+
+    @Benchmark
+    public Courier resultPerCourier() {
+        Location target = order.getLocation();
+        Courier best = null;
+        double bestTime = Double.MAX_VALUE;
+        for (Courier courier : couriers) {
+            Result<Boolean, Error> canTake = courier.canTakeOrder(order);
+            if (canTake.isFailure() || !canTake.getValue()) {
+                continue;
+            }
+            Result<Double, Error> time = courier.calculateTimeToLocation(target);
+            if (time.isSuccess() && time.getValue() < bestTime) {
+                best = courier;
+                bestTime = time.getValue();
+            }
+        }
+        return best;
+    }
+
+    @Benchmark
+    public int scalarKernel() {
+        return scalar.argmin(fleetSize, x, y, speed, maxFreeVolume, 7, 3, 5);
+    }
+
+    @Benchmark
+    public int vectorKernel() {
+        return vector.argmin(fleetSize, x, y, speed, maxFreeVolume, 7, 3, 5);
+    }
+}
@@ -0,0 +1,80 @@
+package ru.ddd.delivery.core.domain.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Speed;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.libs.errs.Error;
+import ru.ddd.libs.errs.Result;
+
+/**
+ * Распределение одного заказа по парку разного размера.
+ * Каждый вызов создаёт заказ, распределяет его и сразу завершает у курьера, чтобы парк не заполнялся.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderDispatcherBenchmark {
+
+    @Param({ "10", "100", "1000", "10000", "100000" })
+    public int fleetSize;
+
+    // Integer.MAX_VALUE - всегда последовательно
+    @Param({ "2147483647", "10000" })
+    public int parallelThreshold;
+
+    private OrderDispatcher dispatcher;
+    private final Volume volume = Volume.create(5).getValue();
+
+    private List<Courier> couriers;
+    private Location[] orderLocations;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dispatcher = new OrderDispatcherImpl(parallelThreshold, ForkJoinPool.commonPool());
+        var random = new Random(42);
+        couriers = new ArrayList<>(fleetSize);
+        for (int i = 0; i < fleetSize; i++) {
+            couriers.add(Courier.create("k" + i,
+                    Speed.create(1 + random.nextInt(3)).getValue(),
+                    Location.create(1 + random.nextInt(10), 1 + random.nextInt(10)).getValue()).getValue());
+        }
+        orderLocations = new Location[1024];
+        for (int i = 0; i < orderLocations.length; i++) {
+            orderLocations[i] = Location.create(1 + random.nextInt(10), 1 + random.nextInt(10)).getValue();
+        }
+    }
+
+    @Benchmark
+    public Result<Courier, Error> dispatch() {
+        var order = Order.create(UUID.randomUUID(), orderLocations[next++ & (orderLocations.length - 1)], volume).getValue();
+        Result<Courier, Error> result = dispatcher.dispatch(order, couriers);
+        result.getValue().completeOrder(order);
+        return result;
+    }
+}
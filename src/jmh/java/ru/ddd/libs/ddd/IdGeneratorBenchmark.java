@@ -0,0 +1,56 @@
+package ru.ddd.libs.ddd;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Генерация идентификаторов из нескольких потоков: UUID.randomUUID() делит один SecureRandom на все потоки.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class IdGeneratorBenchmark {
+
+    private final IdGenerator random = IdGenerator.random();
+    private final IdGenerator timeOrdered = new TimeOrderedIdGenerator(Clock.systemUTC());
+    private final CoarseClock coarseClock = new CoarseClock(Duration.ofMillis(1));
+    private final IdGenerator timeOrderedCoarse = new TimeOrderedIdGenerator(coarseClock);
+
+    @TearDown
+    public void tearDown() {
+        coarseClock.close();
+    }
+
+    @Benchmark
+    public UUID randomUuid() {
+        return random.next();
+    }
+
+    @Benchmark
+    public UUID timeOrderedUuid() {
+        return timeOrdered.next();
+    }
+
+    @Benchmark
+    public UUID timeOrderedUuidWithCoarseClock() {
+        return timeOrderedCoarse.next();
+    }
+}
@@ -0,0 +1,45 @@
+package ru.ddd.libs.errs;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ResultBenchmark {
+
+    private final Error error = Error.of("benchmark.error", "Ошибка");
+    private int value = 42;
+
+    @Benchmark
+    public Result<Integer, Error> success() {
+        return Result.success(value++);
+    }
+
+    @Benchmark
+    public Result<Integer, Error> failure() {
+        return Result.failure(error);
+    }
+
+    @Benchmark
+    public UnitResult<Error> unitSuccess() {
+        return UnitResult.success();
+    }
+
+    @Benchmark
+    public UnitResult<Error> unitFailure() {
+        return UnitResult.failure(error);
+    }
+}
@@ -2,13 +2,10 @@ package ru.ddd.delivery;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication(
-	exclude = {
-        DataSourceAutoConfiguration.class
-    }
-)
+@SpringBootApplication
+@EnableScheduling
 public class DeliveryApplication {
 
 	public static void main(String[] args) {
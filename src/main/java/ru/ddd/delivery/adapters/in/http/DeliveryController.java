@@ -0,0 +1,141 @@
+package ru.ddd.delivery.adapters.in.http;
+
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import ru.ddd.delivery.core.application.dispatch.DispatchLoop;
+import ru.ddd.delivery.core.application.dispatch.DispatchLoop.DispatchSummary;
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Speed;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.libs.errs.Error;
+import ru.ddd.libs.errs.Except;
+import ru.ddd.libs.errs.GeneralErrors;
+import ru.ddd.libs.errs.Result;
+import ru.ddd.libs.errs.UnitResult;
+
+/**
+ * HTTP-вход в {@link DispatchLoop}. Обработчики выполняются на виртуальных потоках
+ * (spring.threads.virtual.enabled), передают команду писателю без блокировок и ждут её результата.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class DeliveryController {
+
+    private final DispatchLoop dispatchLoop;
+
+    public DeliveryController(DispatchLoop dispatchLoop) {
+        this.dispatchLoop = Except.againstNull(dispatchLoop, "dispatchLoop");
+    }
+
+    @PostMapping("/orders")
+    public ResponseEntity<?> createOrder(@RequestBody CreateOrderRequest request) {
+        Result<Location, Error> locationResult = Location.create(request.x(), request.y());
+        if (locationResult.isFailure()) {
+            return error(locationResult.getError());
+        }
+        Result<Volume, Error> volumeResult = Volume.create(request.volume());
+        if (volumeResult.isFailure()) {
+            return error(volumeResult.getError());
+        }
+
+        UUID orderId = request.orderId() != null ? request.orderId() : UUID.randomUUID();
+        Result<Order, Error> createResult = dispatchLoop
+                .createOrder(orderId, locationResult.getValue(), volumeResult.getValue())
+                .join();
+        if (createResult.isFailure()) {
+            return error(createResult.getError());
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(OrderResponse.from(createResult.getValue()));
+    }
+
+    @PostMapping("/orders/{orderId}/complete")
+    public ResponseEntity<?> completeOrder(@PathVariable UUID orderId) {
+        return empty(dispatchLoop.completeOrder(orderId).join());
+    }
+
+    @PostMapping("/couriers")
+    public ResponseEntity<?> registerCourier(@RequestBody RegisterCourierRequest request) {
+        if (request.name() == null || request.name().isBlank()) {
+            return error(GeneralErrors.valueIsRequired("name"));
+        }
+        Result<Speed, Error> speedResult = Speed.create(request.speed());
+        if (speedResult.isFailure()) {
+            return error(speedResult.getError());
+        }
+        Result<Location, Error> locationResult = Location.create(request.x(), request.y());
+        if (locationResult.isFailure()) {
+            return error(locationResult.getError());
+        }
+
+        Result<Courier, Error> registerResult = dispatchLoop
+                .registerCourier(request.name(), speedResult.getValue(), locationResult.getValue())
+                .join();
+        if (registerResult.isFailure()) {
+            return error(registerResult.getError());
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(CourierResponse.from(registerResult.getValue()));
+    }
+
+    @PostMapping("/couriers/{courierId}/move")
+    public ResponseEntity<?> moveCourier(@PathVariable UUID courierId, @RequestBody MoveCourierRequest request) {
+        Result<Location, Error> locationResult = Location.create(request.x(), request.y());
+        if (locationResult.isFailure()) {
+            return error(locationResult.getError());
+        }
+        return empty(dispatchLoop.moveCourier(courierId, locationResult.getValue()).join());
+    }
+
+    @PostMapping("/dispatch")
+    public DispatchSummary dispatch() {
+        return dispatchLoop.dispatch().join();
+    }
+
+    private static ResponseEntity<?> empty(UnitResult<Error> result) {
+        return result.isSuccess() ? ResponseEntity.noContent().build() : error(result.getError());
+    }
+
+    private static ResponseEntity<ErrorResponse> error(Error error) {
+        HttpStatus status = switch (error.getCode()) {
+            case "record.not.found" -> HttpStatus.NOT_FOUND;
+            case "value.is.invalid", "value.is.required", "value.is.out.of.range" -> HttpStatus.BAD_REQUEST;
+            default -> HttpStatus.CONFLICT;
+        };
+        return ResponseEntity.status(status).body(new ErrorResponse(error.getCode(), error.getMessage()));
+    }
+
+    public record CreateOrderRequest(UUID orderId, int x, int y, int volume) {
+    }
+
+    public record RegisterCourierRequest(String name, int speed, int x, int y) {
+    }
+
+    public record MoveCourierRequest(int x, int y) {
+    }
+
+    public record OrderResponse(UUID id, int x, int y, int volume, String status) {
+        static OrderResponse from(Order order) {
+            return new OrderResponse(order.getId(), order.getLocation().getX(), order.getLocation().getY(),
+                    order.getVolume().getValue(), order.getStatus().name());
+        }
+    }
+
+    public record CourierResponse(UUID id, String name, int speed, int x, int y) {
+        static CourierResponse from(Courier courier) {
+            return new CourierResponse(courier.getId(), courier.getName(), courier.getSpeed().getValue(),
+                    courier.getLocation().getX(), courier.getLocation().getY());
+        }
+    }
+
+    public record ErrorResponse(String code, String message) {
+    }
+}
@@ -0,0 +1,33 @@
+package ru.ddd.delivery.adapters.in.http;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import ru.ddd.delivery.core.application.dispatch.DispatchLoop;
+import ru.ddd.delivery.core.domain.services.OrderDispatcher;
+import ru.ddd.delivery.core.ports.CourierRepository;
+import ru.ddd.delivery.core.ports.DeliveryMetrics;
+import ru.ddd.delivery.core.ports.OrderRepository;
+import ru.ddd.delivery.core.ports.UnitOfWork;
+
+@Configuration
+public class DispatchLoopConfiguration {
+
+    /**
+     * Поток-писатель - один платформенный поток; обработчики запросов на виртуальных потоках только передают
+     * ему команды и ждут результата.
+     */
+    @Bean(destroyMethod = "close")
+    public DispatchLoop dispatchLoop(CourierRepository courierRepository,
+                                     OrderRepository orderRepository,
+                                     UnitOfWork unitOfWork,
+                                     OrderDispatcher orderDispatcher,
+                                     DeliveryMetrics deliveryMetrics,
+                                     @Value("${delivery.dispatch-loop.max-commands-per-flush:1024}") int maxCommandsPerFlush) {
+        var loop = new DispatchLoop(courierRepository, orderRepository, unitOfWork, orderDispatcher, maxCommandsPerFlush,
+                deliveryMetrics);
+        loop.start(Thread.ofPlatform().name("dispatch-loop").factory());
+        return loop;
+    }
+}
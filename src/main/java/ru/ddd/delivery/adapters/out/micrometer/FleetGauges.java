@@ -0,0 +1,72 @@
+package ru.ddd.delivery.adapters.out.micrometer;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.courier.CourierStateListener;
+
+/**
+ * Показатели загрузки парка, обновляемые по уведомлениям курьеров: сколько курьеров везут заказы
+ * и сколько свободного объёма осталось во всех местах хранения. Чтение - за O(1), без обхода парка.
+ */
+final class FleetGauges implements CourierStateListener {
+
+    // Последнее учтённое состояние курьера; каждая запись меняется под своей блокировкой
+    private final Map<UUID, CourierGauge> couriers = new ConcurrentHashMap<>();
+    private final AtomicInteger busyCouriers = new AtomicInteger();
+    private final AtomicLong remainingVolume = new AtomicLong();
+
+    void watch(Courier courier) {
+        CourierGauge gauge = couriers.computeIfAbsent(courier.getId(), id -> new CourierGauge());
+        courier.addStateListener(this);
+        gauge.update(courier);
+    }
+
+    @Override
+    public void courierStateChanged(Courier courier) {
+        CourierGauge gauge = couriers.get(courier.getId());
+        if (gauge != null) {
+            gauge.update(courier);
+        }
+    }
+
+    int fleetSize() {
+        return couriers.size();
+    }
+
+    int busyCouriers() {
+        return busyCouriers.get();
+    }
+
+    /**
+     * Доля курьеров, которые везут хотя бы один заказ; 0 для пустого парка.
+     */
+    double utilization() {
+        int size = couriers.size();
+        return size == 0 ? 0 : (double) busyCouriers.get() / size;
+    }
+
+    long remainingVolume() {
+        return remainingVolume.get();
+    }
+
+    private final class CourierGauge {
+        private boolean busy;
+        private int remaining;
+
+        private synchronized void update(Courier courier) {
+            boolean nowBusy = courier.hasOrders();
+            int nowRemaining = courier.getRemainingVolume();
+            if (nowBusy != busy) {
+                busyCouriers.addAndGet(nowBusy ? 1 : -1);
+                busy = nowBusy;
+            }
+            remainingVolume.addAndGet(nowRemaining - remaining);
+            remaining = nowRemaining;
+        }
+    }
+}
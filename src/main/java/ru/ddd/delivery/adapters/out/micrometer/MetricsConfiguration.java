@@ -0,0 +1,23 @@
+package ru.ddd.delivery.adapters.out.micrometer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import ru.ddd.delivery.core.ports.DeliveryMetrics;
+
+@Configuration
+public class MetricsConfiguration {
+
+    /**
+     * Выключенные метрики - {@link DeliveryMetrics#NOOP}: замеры времени и обращения к реестру не выполняются.
+     */
+    @Bean
+    public DeliveryMetrics deliveryMetrics(ObjectProvider<MeterRegistry> registry,
+                                           @Value("${delivery.metrics.enabled:false}") boolean enabled) {
+        MeterRegistry meterRegistry = registry.getIfAvailable();
+        return enabled && meterRegistry != null ? new MicrometerDeliveryMetrics(meterRegistry) : DeliveryMetrics.NOOP;
+    }
+}
@@ -0,0 +1,161 @@
+package ru.ddd.delivery.adapters.out.micrometer;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.ports.DeliveryMetrics;
+import ru.ddd.libs.errs.Error;
+import ru.ddd.libs.errs.Except;
+
+/**
+ * {@link DeliveryMetrics} на Micrometer. Все счётчики и таймеры с фиксированными тегами регистрируются заранее;
+ * счётчик кода ошибки создаётся при первой встрече кода, дальше берётся из кэша без аллокаций.
+ */
+public final class MicrometerDeliveryMetrics implements DeliveryMetrics {
+
+    private static final String SUCCESS = "success";
+    private static final String FAILURE = "failure";
+
+    private final MeterRegistry registry;
+
+    private final Timer dispatchSucceeded;
+    private final Timer dispatchFailed;
+    private final Timer batchDispatch;
+    private final DistributionSummary batchSize;
+    private final Timer[] courierOperationSucceeded;
+    private final Timer[] courierOperationFailed;
+    private final Timer persistence;
+    private final DistributionSummary persistedAggregates;
+    private final Map<String, Counter> errors = new ConcurrentHashMap<>();
+    private final FleetGauges fleet = new FleetGauges();
+
+    public MicrometerDeliveryMetrics(MeterRegistry registry) {
+        this.registry = Except.againstNull(registry, "registry");
+
+        dispatchSucceeded = dispatchTimer(SUCCESS);
+        dispatchFailed = dispatchTimer(FAILURE);
+        batchDispatch = Timer.builder("delivery.dispatch.batch")
+                .description("Распределение пакета заказов")
+                .publishPercentileHistogram()
+                .register(registry);
+        batchSize = DistributionSummary.builder("delivery.dispatch.batch.size")
+                .description("Заказов в пакете распределения")
+                .register(registry);
+
+        CourierOperation[] operations = CourierOperation.values();
+        courierOperationSucceeded = new Timer[operations.length];
+        courierOperationFailed = new Timer[operations.length];
+        for (CourierOperation operation : operations) {
+            courierOperationSucceeded[operation.ordinal()] = courierOperationTimer(operation, SUCCESS);
+            courierOperationFailed[operation.ordinal()] = courierOperationTimer(operation, FAILURE);
+        }
+
+        persistence = Timer.builder("delivery.persistence")
+                .description("Запись изменённых агрегатов")
+                .publishPercentileHistogram()
+                .register(registry);
+        persistedAggregates = DistributionSummary.builder("delivery.persistence.aggregates")
+                .description("Агрегатов в одной записи")
+                .register(registry);
+
+        Gauge.builder("delivery.fleet.size", fleet, FleetGauges::fleetSize)
+                .description("Курьеров в парке")
+                .register(registry);
+        Gauge.builder("delivery.fleet.busy", fleet, FleetGauges::busyCouriers)
+                .description("Курьеров, которые везут заказы")
+                .register(registry);
+        Gauge.builder("delivery.fleet.utilization", fleet, FleetGauges::utilization)
+                .description("Доля курьеров, которые везут заказы")
+                .register(registry);
+        Gauge.builder("delivery.fleet.remaining.volume", fleet, FleetGauges::remainingVolume)
+                .description("Свободный объём всех мест хранения")
+                .register(registry);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void orderDispatched(long durationNanos, Error error) {
+        if (error == null) {
+            dispatchSucceeded.record(durationNanos, TimeUnit.NANOSECONDS);
+            return;
+        }
+        dispatchFailed.record(durationNanos, TimeUnit.NANOSECONDS);
+        errorRaised(error);
+    }
+
+    @Override
+    public void batchDispatched(long durationNanos, int orderCount) {
+        batchDispatch.record(durationNanos, TimeUnit.NANOSECONDS);
+        batchSize.record(orderCount);
+    }
+
+    @Override
+    public void courierOperationCompleted(CourierOperation operation, long durationNanos, Error error) {
+        Timer timer = error == null
+                ? courierOperationSucceeded[operation.ordinal()]
+                : courierOperationFailed[operation.ordinal()];
+        timer.record(durationNanos, TimeUnit.NANOSECONDS);
+        if (error != null) {
+            errorRaised(error);
+        }
+    }
+
+    @Override
+    public void persisted(long durationNanos, int aggregateCount) {
+        persistence.record(durationNanos, TimeUnit.NANOSECONDS);
+        persistedAggregates.record(aggregateCount);
+    }
+
+    @Override
+    public void errorRaised(Error error) {
+        String code = error.getCode();
+        Counter counter = errors.get(code);
+        if (counter == null) {
+            counter = errors.computeIfAbsent(code, this::errorCounter);
+        }
+        counter.increment();
+    }
+
+    @Override
+    public void watch(Courier courier) {
+        fleet.watch(Except.againstNull(courier, "courier"));
+    }
+
+    private Timer dispatchTimer(String outcome) {
+        return Timer.builder("delivery.dispatch")
+                .description("Распределение одного заказа")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(1))
+                .register(registry);
+    }
+
+    private Timer courierOperationTimer(CourierOperation operation, String outcome) {
+        return Timer.builder("delivery.courier.operation")
+                .description("Операция с курьером")
+                .tag("operation", operation.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Counter errorCounter(String code) {
+        return Counter.builder("delivery.errors")
+                .description("Отказы по коду ошибки")
+                .tag("code", code)
+                .register(registry);
+    }
+}
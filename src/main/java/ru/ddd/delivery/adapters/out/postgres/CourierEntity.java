@@ -0,0 +1,129 @@
+package ru.ddd.delivery.adapters.out.postgres;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Speed;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.courier.StoragePlace;
+import ru.ddd.delivery.core.domain.model.courier.StoragePlaceAllocation;
+
+/**
+ * Запись курьера в БД. Идентификатор задаёт домен, поэтому новая запись вставляется без предварительного
+ * select и без сброса после каждой сущности: вставки копятся и уходят пакетами.
+ */
+@Entity
+@Table(name = "couriers")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CourierEntity implements Persistable<UUID> {
+
+    @Id
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Column(name = "speed", nullable = false)
+    private int speed;
+
+    @Column(name = "location_x", nullable = false)
+    private int locationX;
+
+    @Column(name = "location_y", nullable = false)
+    private int locationY;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "storage_place_allocation", nullable = false)
+    private StoragePlaceAllocation storagePlaceAllocation;
+
+    @OneToMany(mappedBy = "courier", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("position")
+    private List<StoragePlaceEntity> storagePlaces = new ArrayList<>();
+
+    @Transient
+    private boolean isNew = true;
+
+    public static CourierEntity from(Courier courier) {
+        var entity = new CourierEntity();
+        entity.id = courier.getId();
+        entity.apply(courier);
+        return entity;
+    }
+
+    /**
+     * Переносит состояние курьера в запись. Места хранения у курьера только добавляются,
+     * поэтому новые места дописываются, а существующие обновляются на месте.
+     */
+    public void apply(Courier courier) {
+        name = courier.getName();
+        speed = courier.getSpeed().getValue();
+        locationX = courier.getLocation().getX();
+        locationY = courier.getLocation().getY();
+        storagePlaceAllocation = courier.getStoragePlaceAllocation();
+
+        Map<UUID, StoragePlaceEntity> existing = new HashMap<>();
+        for (StoragePlaceEntity storagePlace : storagePlaces) {
+            existing.put(storagePlace.getId(), storagePlace);
+        }
+        List<StoragePlace> domainStoragePlaces = courier.getStoragePlaces();
+        for (int position = 0; position < domainStoragePlaces.size(); position++) {
+            StoragePlace storagePlace = domainStoragePlaces.get(position);
+            StoragePlaceEntity entity = existing.get(storagePlace.getId());
+            if (entity == null) {
+                storagePlaces.add(StoragePlaceEntity.from(storagePlace, this, position));
+            } else {
+                entity.apply(storagePlace, position);
+            }
+        }
+    }
+
+    public Courier toDomain() {
+        List<StoragePlace> domainStoragePlaces = new ArrayList<>(storagePlaces.size());
+        for (StoragePlaceEntity storagePlace : storagePlaces) {
+            domainStoragePlaces.add(storagePlace.toDomain());
+        }
+        return Courier.restore(id,
+                name,
+                Speed.create(speed).getValue(),
+                Location.create(locationX, locationY).getValue(),
+                storagePlaceAllocation,
+                domainStoragePlaces);
+    }
+
+    @Override
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+}
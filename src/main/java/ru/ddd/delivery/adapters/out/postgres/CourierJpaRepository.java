@@ -0,0 +1,18 @@
+package ru.ddd.delivery.adapters.out.postgres;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface CourierJpaRepository extends JpaRepository<CourierEntity, UUID> {
+
+    @Query("select distinct c from CourierEntity c left join fetch c.storagePlaces where c.id in :ids")
+    List<CourierEntity> findAllWithStoragePlacesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("select distinct c from CourierEntity c left join fetch c.storagePlaces")
+    List<CourierEntity> findAllWithStoragePlaces();
+}
@@ -0,0 +1,99 @@
+package ru.ddd.delivery.adapters.out.postgres;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.ports.CourierRepository;
+import ru.ddd.libs.errs.Except;
+
+@Repository
+public class CourierRepositoryImpl implements CourierRepository {
+
+    // Ограничение на размер списка in (...), чтобы не упереться в лимит параметров запроса
+    private static final int MAX_IDS_PER_QUERY = 1_000;
+
+    private final CourierJpaRepository courierJpaRepository;
+    private final Outbox outbox;
+
+    public CourierRepositoryImpl(CourierJpaRepository courierJpaRepository, Outbox outbox) {
+        this.courierJpaRepository = courierJpaRepository;
+        this.outbox = outbox;
+    }
+
+    @Override
+    @Transactional
+    public void add(Courier courier) {
+        Except.againstNull(courier, "courier");
+        courierJpaRepository.save(CourierEntity.from(courier));
+        outbox.add(List.of(courier));
+    }
+
+    @Override
+    @Transactional
+    public void addAll(Collection<Courier> couriers) {
+        Except.againstNull(couriers, "couriers");
+        courierJpaRepository.saveAll(couriers.stream().map(CourierEntity::from).toList());
+        outbox.add(couriers);
+    }
+
+    @Override
+    @Transactional
+    public void update(Courier courier) {
+        Except.againstNull(courier, "courier");
+        updateAll(List.of(courier));
+    }
+
+    /**
+     * Записи читаются одним запросом на каждую тысячу курьеров и меняются на месте; при фиксации транзакции
+     * Hibernate отправляет изменения пакетными update/insert, события агрегатов - пакетными insert в outbox.
+     */
+    @Override
+    @Transactional
+    public void updateAll(Collection<Courier> couriers) {
+        Except.againstNull(couriers, "couriers");
+
+        Map<UUID, Courier> byId = new HashMap<>();
+        for (Courier courier : couriers) {
+            byId.put(courier.getId(), courier);
+        }
+
+        List<UUID> ids = new ArrayList<>(byId.keySet());
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+            for (CourierEntity entity : courierJpaRepository.findAllWithStoragePlacesByIdIn(chunk)) {
+                entity.apply(byId.remove(entity.getId()));
+            }
+        }
+
+        if (!byId.isEmpty()) {
+            throw new IllegalArgumentException("Couriers not found: " + byId.keySet());
+        }
+        outbox.add(couriers);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Courier> get(UUID courierId) {
+        Except.againstNull(courierId, "courierId");
+        return courierJpaRepository.findAllWithStoragePlacesByIdIn(List.of(courierId)).stream()
+                .findFirst()
+                .map(CourierEntity::toDomain);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Courier> getAll() {
+        return courierJpaRepository.findAllWithStoragePlaces().stream()
+                .map(CourierEntity::toDomain)
+                .toList();
+    }
+}
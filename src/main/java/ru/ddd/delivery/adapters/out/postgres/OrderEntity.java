@@ -0,0 +1,92 @@
+package ru.ddd.delivery.adapters.out.postgres;
+
+import java.util.UUID;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.delivery.core.domain.model.order.OrderStatus;
+
+/**
+ * Запись заказа в БД. Идентификатор задаёт домен, поэтому вставки копятся и уходят пакетами.
+ */
+@Entity
+@Table(name = "orders")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderEntity implements Persistable<UUID> {
+
+    @Id
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "location_x", nullable = false)
+    private int locationX;
+
+    @Column(name = "location_y", nullable = false)
+    private int locationY;
+
+    @Column(name = "volume", nullable = false)
+    private int volume;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OrderStatus status;
+
+    @Column(name = "courier_id")
+    private UUID courierId;
+
+    @Transient
+    private boolean isNew = true;
+
+    public static OrderEntity from(Order order) {
+        var entity = new OrderEntity();
+        entity.id = order.getId();
+        entity.locationX = order.getLocation().getX();
+        entity.locationY = order.getLocation().getY();
+        entity.volume = order.getVolume().getValue();
+        entity.apply(order);
+        return entity;
+    }
+
+    public void apply(Order order) {
+        status = order.getStatus();
+        courierId = order.getCourierId();
+    }
+
+    public Order toDomain() {
+        return Order.restore(id,
+                Location.create(locationX, locationY).getValue(),
+                Volume.create(volume).getValue(),
+                status,
+                courierId);
+    }
+
+    @Override
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+}
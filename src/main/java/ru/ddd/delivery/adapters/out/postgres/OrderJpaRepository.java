@@ -0,0 +1,19 @@
+package ru.ddd.delivery.adapters.out.postgres;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import ru.ddd.delivery.core.domain.model.order.OrderStatus;
+
+public interface OrderJpaRepository extends JpaRepository<OrderEntity, UUID> {
+
+    List<OrderEntity> findAllByStatus(OrderStatus status);
+
+    @Query("select o.id from OrderEntity o where o.id in :ids")
+    List<UUID> findIdsByIdIn(@Param("ids") Collection<UUID> ids);
+}
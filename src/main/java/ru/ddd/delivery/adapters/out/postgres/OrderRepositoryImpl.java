@@ -0,0 +1,121 @@
+package ru.ddd.delivery.adapters.out.postgres;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.delivery.core.domain.model.order.OrderStatus;
+import ru.ddd.delivery.core.ports.OrderRepository;
+import ru.ddd.libs.errs.Except;
+
+@Repository
+public class OrderRepositoryImpl implements OrderRepository {
+
+    // Ограничение на размер списка in (...), чтобы не упереться в лимит параметров запроса
+    private static final int MAX_IDS_PER_QUERY = 1_000;
+
+    private final OrderJpaRepository orderJpaRepository;
+    private final Outbox outbox;
+
+    public OrderRepositoryImpl(OrderJpaRepository orderJpaRepository, Outbox outbox) {
+        this.orderJpaRepository = orderJpaRepository;
+        this.outbox = outbox;
+    }
+
+    @Override
+    @Transactional
+    public void add(Order order) {
+        Except.againstNull(order, "order");
+        orderJpaRepository.save(OrderEntity.from(order));
+        outbox.add(List.of(order));
+    }
+
+    @Override
+    @Transactional
+    public void addAll(Collection<Order> orders) {
+        Except.againstNull(orders, "orders");
+        orderJpaRepository.saveAll(orders.stream().map(OrderEntity::from).toList());
+        outbox.add(orders);
+    }
+
+    @Override
+    @Transactional
+    public void update(Order order) {
+        Except.againstNull(order, "order");
+        updateAll(List.of(order));
+    }
+
+    /**
+     * Записи читаются одним запросом на каждую тысячу заказов и меняются на месте; при фиксации транзакции
+     * Hibernate отправляет изменения пакетными update, а события агрегатов - пакетными insert в outbox.
+     */
+    @Override
+    @Transactional
+    public void updateAll(Collection<Order> orders) {
+        Except.againstNull(orders, "orders");
+
+        Map<UUID, Order> byId = new HashMap<>();
+        for (Order order : orders) {
+            byId.put(order.getId(), order);
+        }
+
+        List<UUID> ids = new ArrayList<>(byId.keySet());
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+            for (OrderEntity entity : orderJpaRepository.findAllById(chunk)) {
+                entity.apply(byId.remove(entity.getId()));
+            }
+        }
+
+        if (!byId.isEmpty()) {
+            throw new IllegalArgumentException("Orders not found: " + byId.keySet());
+        }
+        outbox.add(orders);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Order> get(UUID orderId) {
+        Except.againstNull(orderId, "orderId");
+        return orderJpaRepository.findById(orderId).map(OrderEntity::toDomain);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<UUID> findExistingIds(Collection<UUID> orderIds) {
+        Except.againstNull(orderIds, "orderIds");
+
+        List<UUID> ids = List.copyOf(orderIds);
+        Set<UUID> existing = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            existing.addAll(orderJpaRepository.findIdsByIdIn(ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()))));
+        }
+        return existing;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Order> getAllCreated() {
+        return orderJpaRepository.findAllByStatus(OrderStatus.CREATED).stream()
+                .map(OrderEntity::toDomain)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Order> getAllAssigned() {
+        return orderJpaRepository.findAllByStatus(OrderStatus.ASSIGNED).stream()
+                .map(OrderEntity::toDomain)
+                .toList();
+    }
+}
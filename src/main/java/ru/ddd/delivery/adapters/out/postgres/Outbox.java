@@ -0,0 +1,77 @@
+package ru.ddd.delivery.adapters.out.postgres;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import ru.ddd.libs.ddd.Aggregate;
+import ru.ddd.libs.ddd.DomainEvent;
+import ru.ddd.libs.errs.Except;
+
+/**
+ * Transactional outbox: события агрегатов сериализуются в JSON и пишутся в outbox_messages
+ * в той же транзакции, что и сами агрегаты. Отправкой занимается {@link OutboxRelay}.
+ */
+@Component
+public class Outbox {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private final OutboxJpaRepository outboxJpaRepository;
+
+    public Outbox(OutboxJpaRepository outboxJpaRepository) {
+        this.outboxJpaRepository = outboxJpaRepository;
+    }
+
+    /**
+     * Забирает накопленные события агрегатов и сохраняет их. Вызывается внутри транзакции сохранения агрегатов:
+     * вставки событий уходят тем же пакетом при фиксации.
+     */
+    public void add(Collection<? extends Aggregate<?>> aggregates) {
+        Except.againstNull(aggregates, "aggregates");
+
+        List<OutboxMessageEntity> messages = new ArrayList<>();
+        for (Aggregate<?> aggregate : aggregates) {
+            for (DomainEvent event : aggregate.pullDomainEvents()) {
+                messages.add(toMessage(event));
+            }
+        }
+        if (!messages.isEmpty()) {
+            outboxJpaRepository.saveAll(messages);
+        }
+    }
+
+    OutboxMessageEntity toMessage(DomainEvent event) {
+        try {
+            return new OutboxMessageEntity(event.getEventId(),
+                    event.getClass().getName(),
+                    objectMapper.writeValueAsString(event),
+                    event.getOccurredOnUtc());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize event " + event.getClass().getName(), e);
+        }
+    }
+
+    DomainEvent toEvent(OutboxMessageEntity message) {
+        try {
+            Class<?> type = Class.forName(message.getType());
+            if (!DomainEvent.class.isAssignableFrom(type)) {
+                throw new IllegalStateException("Not a domain event type: " + message.getType());
+            }
+            return (DomainEvent) objectMapper.readValue(message.getPayload(), type);
+        } catch (ClassNotFoundException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot deserialize outbox message " + message.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ru.ddd.delivery.adapters.out.postgres;
+
+import java.util.List;
+
+import ru.ddd.libs.ddd.DomainEvent;
+
+/**
+ * Получатель событий из outbox. События приходят пачкой в порядке возникновения;
+ * если метод бросил исключение, вся пачка будет отправлена повторно.
+ */
+@FunctionalInterface
+public interface OutboxEventSink {
+
+    void publish(List<DomainEvent> events);
+}
@@ -0,0 +1,25 @@
+package ru.ddd.delivery.adapters.out.postgres;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface OutboxJpaRepository extends JpaRepository<OutboxMessageEntity, UUID> {
+
+    /**
+     * Самые старые сообщения. Строки блокируются до конца транзакции, уже заблокированные пропускаются
+     * (lock.timeout = -2 - это skip locked), поэтому несколько ретрансляторов не отправят одно сообщение дважды.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select m from OutboxMessageEntity m order by m.occurredOnUtc, m.id")
+    List<OutboxMessageEntity> findOldest(Limit limit);
+}
@@ -0,0 +1,68 @@
+package ru.ddd.delivery.adapters.out.postgres;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Доменное событие, ожидающее отправки. Идентификатор записи совпадает с идентификатором события.
+ */
+@Entity
+@Table(name = "outbox_messages")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OutboxMessageEntity implements Persistable<UUID> {
+
+    @Id
+    @Column(name = "id")
+    private UUID id;
+
+    @Getter
+    @Column(name = "type", nullable = false)
+    private String type;
+
+    @Getter
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Getter
+    @Column(name = "occurred_on_utc", nullable = false)
+    private Instant occurredOnUtc;
+
+    @Transient
+    private boolean isNew = true;
+
+    OutboxMessageEntity(UUID id, String type, String payload, Instant occurredOnUtc) {
+        this.id = id;
+        this.type = type;
+        this.payload = payload;
+        this.occurredOnUtc = occurredOnUtc;
+    }
+
+    @Override
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+}
@@ -0,0 +1,83 @@
+package ru.ddd.delivery.adapters.out.postgres;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ru.ddd.libs.ddd.DomainEvent;
+import ru.ddd.libs.errs.Except;
+
+/**
+ * Фоновая отправка событий из outbox. За одну транзакцию читается пачка из batchSize сообщений,
+ * пачка целиком уходит в {@link OutboxEventSink}, а сообщения удаляются одним запросом.
+ * Пока пачки полные, следующая читается сразу, не дожидаясь очередного опроса.
+ * Доставка - не менее одного раза: при сбое после отправки пачка уйдёт повторно.
+ */
+@Component
+public class OutboxRelay {
+
+    private final OutboxJpaRepository outboxJpaRepository;
+    private final Outbox outbox;
+    private final OutboxEventSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    /**
+     * @param sink получатель событий; если в контексте его нет, события публикуются через ApplicationEventPublisher
+     */
+    public OutboxRelay(OutboxJpaRepository outboxJpaRepository,
+                       Outbox outbox,
+                       ObjectProvider<OutboxEventSink> sink,
+                       ApplicationEventPublisher applicationEventPublisher,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${delivery.outbox.batch-size:500}") int batchSize) {
+        Except.againstNull(applicationEventPublisher, "applicationEventPublisher");
+        this.outboxJpaRepository = Except.againstNull(outboxJpaRepository, "outboxJpaRepository");
+        this.outbox = Except.againstNull(outbox, "outbox");
+        this.sink = sink.getIfAvailable(() -> events -> events.forEach(applicationEventPublisher::publishEvent));
+        this.transactionTemplate = new TransactionTemplate(Except.againstNull(transactionManager, "transactionManager"));
+        this.batchSize = Except.againstZeroOrNegative(batchSize, "batchSize");
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.outbox.poll-interval:1s}")
+    public void relay() {
+        while (relayBatch() == batchSize) {
+            // Очередь не разобрана - читаем следующую пачку
+        }
+    }
+
+    /**
+     * Отправляет одну пачку.
+     *
+     * @return число отправленных событий
+     */
+    public int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxMessageEntity> messages = outboxJpaRepository.findOldest(Limit.of(batchSize));
+            if (messages.isEmpty()) {
+                return 0;
+            }
+
+            List<DomainEvent> events = new ArrayList<>(messages.size());
+            List<UUID> ids = new ArrayList<>(messages.size());
+            for (OutboxMessageEntity message : messages) {
+                events.add(outbox.toEvent(message));
+                ids.add(message.getId());
+            }
+
+            sink.publish(events);
+            outboxJpaRepository.deleteAllByIdInBatch(ids);
+            return messages.size();
+        });
+        return relayed == null ? 0 : relayed;
+    }
+}
@@ -0,0 +1,106 @@
+package ru.ddd.delivery.adapters.out.postgres;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.MapKeyColumn;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.courier.StoragePlace;
+
+@Entity
+@Table(name = "storage_places")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StoragePlaceEntity implements Persistable<UUID> {
+
+    @Id
+    @Column(name = "id")
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "courier_id", nullable = false)
+    private CourierEntity courier;
+
+    @Column(name = "position", nullable = false)
+    private int position;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Column(name = "total_volume", nullable = false)
+    private int totalVolume;
+
+    @Column(name = "shared", nullable = false)
+    private boolean shared;
+
+    @ElementCollection
+    @CollectionTable(name = "storage_place_orders", joinColumns = @JoinColumn(name = "storage_place_id"))
+    @MapKeyColumn(name = "order_id")
+    @Column(name = "volume", nullable = false)
+    private Map<UUID, Integer> orderVolumes = new HashMap<>();
+
+    @Transient
+    private boolean isNew = true;
+
+    static StoragePlaceEntity from(StoragePlace storagePlace, CourierEntity courier, int position) {
+        var entity = new StoragePlaceEntity();
+        entity.id = storagePlace.getId();
+        entity.courier = courier;
+        entity.name = storagePlace.getName();
+        entity.totalVolume = storagePlace.getTotalVolume().getValue();
+        entity.shared = storagePlace.isShared();
+        entity.apply(storagePlace, position);
+        return entity;
+    }
+
+    /**
+     * Обновляет только изменившиеся заказы, чтобы коллекция не пересоздавалась целиком.
+     */
+    void apply(StoragePlace storagePlace, int position) {
+        this.position = position;
+
+        Map<UUID, Integer> actual = storagePlace.getOrderVolumes();
+        orderVolumes.keySet().retainAll(actual.keySet());
+        actual.forEach((orderId, volume) -> {
+            if (!volume.equals(orderVolumes.get(orderId))) {
+                orderVolumes.put(orderId, volume);
+            }
+        });
+    }
+
+    StoragePlace toDomain() {
+        return StoragePlace.restore(id, name, Volume.create(totalVolume).getValue(), shared, orderVolumes);
+    }
+
+    @Override
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+}
@@ -0,0 +1,28 @@
+package ru.ddd.delivery.adapters.out.postgres;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ru.ddd.delivery.core.ports.UnitOfWork;
+import ru.ddd.libs.errs.Except;
+
+/**
+ * Выполняет работу в одной транзакции: транзакционные методы репозиториев присоединяются к ней,
+ * а исключение откатывает все записи.
+ */
+@Component
+public class TransactionalUnitOfWork implements UnitOfWork {
+
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionalUnitOfWork(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(Except.againstNull(transactionManager, "transactionManager"));
+    }
+
+    @Override
+    public void execute(Runnable work) {
+        Except.againstNull(work, "work");
+        transactionTemplate.executeWithoutResult(status -> work.run());
+    }
+}
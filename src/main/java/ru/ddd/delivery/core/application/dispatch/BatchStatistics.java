@@ -0,0 +1,85 @@
+package ru.ddd.delivery.core.application.dispatch;
+
+import java.util.Arrays;
+
+import ru.ddd.libs.errs.Except;
+
+/**
+ * Размеры последних пакетов и время ожидания заказов в очереди, в кольцевых буферах.
+ * Запись - без аллокаций; перцентили считаются по копии окна при запросе. Потокобезопасно.
+ */
+public final class BatchStatistics {
+
+    private final long[] batchSizes;
+    private final long[] queueLatencies;
+    private long batchCount;
+    private long orderCount;
+
+    public BatchStatistics(int window) {
+        Except.againstZeroOrNegative(window, "window");
+        this.batchSizes = new long[window];
+        this.queueLatencies = new long[window];
+    }
+
+    public synchronized void recordBatch(int size) {
+        batchSizes[(int) (batchCount % batchSizes.length)] = size;
+        batchCount++;
+    }
+
+    public synchronized void recordQueueLatency(long latencyNanos) {
+        queueLatencies[(int) (orderCount % queueLatencies.length)] = latencyNanos;
+        orderCount++;
+    }
+
+    /**
+     * Всего отправленных пакетов, включая вытесненные из окна.
+     */
+    public synchronized long batchCount() {
+        return batchCount;
+    }
+
+    /**
+     * Всего отправленных заказов, включая вытесненные из окна.
+     */
+    public synchronized long orderCount() {
+        return orderCount;
+    }
+
+    /**
+     * Перцентиль размера пакета по окну методом ближайшего ранга; 0, если пакетов ещё не было.
+     *
+     * @param percentile от 0 до 100
+     */
+    public long batchSizePercentile(double percentile) {
+        return percentile(batchSizesSnapshot(), percentile);
+    }
+
+    /**
+     * Перцентиль ожидания заказа в очереди в наносекундах по окну; 0, если заказов ещё не было.
+     *
+     * @param percentile от 0 до 100
+     */
+    public long queueLatencyPercentile(double percentile) {
+        return percentile(queueLatenciesSnapshot(), percentile);
+    }
+
+    private synchronized long[] batchSizesSnapshot() {
+        return Arrays.copyOf(batchSizes, (int) Math.min(batchCount, batchSizes.length));
+    }
+
+    private synchronized long[] queueLatenciesSnapshot() {
+        return Arrays.copyOf(queueLatencies, (int) Math.min(orderCount, queueLatencies.length));
+    }
+
+    private static long percentile(long[] window, double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be in [0, 100]");
+        }
+        if (window.length == 0) {
+            return 0;
+        }
+        Arrays.sort(window);
+        int rank = (int) Math.ceil(percentile / 100 * window.length);
+        return window[Math.max(rank, 1) - 1];
+    }
+}
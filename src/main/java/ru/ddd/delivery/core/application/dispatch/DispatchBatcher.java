@@ -0,0 +1,231 @@
+package ru.ddd.delivery.core.application.dispatch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.delivery.core.domain.services.OrderDispatcher;
+import ru.ddd.delivery.core.domain.services.OrderDispatcherImpl;
+import ru.ddd.libs.errs.Error;
+import ru.ddd.libs.errs.Except;
+import ru.ddd.libs.errs.Result;
+
+/**
+ * Накапливает поступающие заказы и распределяет их пакетом через {@link OrderDispatcher#dispatchAll}.
+ * Пакет уходит, когда набралось maxBatchSize заказов или самый старый из них прождал текущее окно.
+ * <p>
+ * Окно подстраивается под нагрузку: если в прошлый пакет попал один заказ, ожидание ничего не дало и окно
+ * сокращается вдвое вплоть до нуля; если несколько - окно удваивается, но не больше maxDelay. Очередь, накопившаяся
+ * за время распределения, уходит сразу: её старейший заказ уже прождал своё окно.
+ * <p>
+ * {@link #submit(Order)} - из любого потока, без блокировок: заказы попадают в неблокирующую очередь,
+ * а разбирает её единственный поток, запущенный {@link #start(ThreadFactory)}.
+ */
+public final class DispatchBatcher implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(5);
+
+    private static final int DEFAULT_STATISTICS_WINDOW = 1_024;
+    // Окно меньше maxDelay / 16 не успевает собрать пакет и обнуляется
+    private static final int MIN_WINDOW_SHIFT = 4;
+
+    private final OrderDispatcher dispatcher;
+    private final Supplier<List<Courier>> couriers;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+
+    private final Queue<QueuedOrder> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final BatchStatistics statistics = new BatchStatistics(DEFAULT_STATISTICS_WINDOW);
+
+    // Меняется только потоком разбора очереди
+    private volatile long windowNanos;
+    private volatile Thread consumer;
+    private volatile boolean closed;
+
+    public DispatchBatcher(OrderDispatcher dispatcher, Supplier<List<Courier>> couriers) {
+        this(dispatcher, couriers, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY);
+    }
+
+    public DispatchBatcher(OrderDispatcher dispatcher, Supplier<List<Courier>> couriers,
+                           int maxBatchSize, Duration maxDelay) {
+        this.dispatcher = Except.againstNull(dispatcher, "dispatcher");
+        this.couriers = Except.againstNull(couriers, "couriers");
+        this.maxBatchSize = Except.againstZeroOrNegative(maxBatchSize, "maxBatchSize");
+        this.maxDelayNanos = Except.againstNegative(Except.againstNull(maxDelay, "maxDelay").toNanos(), "maxDelay");
+        this.windowNanos = maxDelayNanos;
+    }
+
+    /**
+     * Запускает поток разбора очереди. Вызывается один раз.
+     */
+    public synchronized void start(ThreadFactory threadFactory) {
+        Except.againstNull(threadFactory, "threadFactory");
+        if (consumer != null) {
+            throw new IllegalStateException("batcher is already started");
+        }
+        if (closed) {
+            throw new IllegalStateException("batcher is closed");
+        }
+        consumer = threadFactory.newThread(this::run);
+        consumer.start();
+    }
+
+    /**
+     * Ставит заказ в очередь на распределение.
+     *
+     * @return результат распределения; завершается потоком разбора очереди или, если батчер закрылся
+     * одновременно с вызовом, - исключением IllegalStateException
+     */
+    public CompletableFuture<Result<Courier, Error>> submit(Order order) {
+        Except.againstNull(order, "order");
+        if (closed) {
+            throw new IllegalStateException("batcher is closed");
+        }
+
+        var queued = new QueuedOrder(order, System.nanoTime(), new CompletableFuture<>());
+        queue.add(queued);
+        int queuedCount = depth.incrementAndGet();
+        // Закрытие могло пройти между проверкой и add: заказ, который никто не забрал, снимаем сами
+        if (closed && queue.remove(queued)) {
+            depth.decrementAndGet();
+            queued.result.completeExceptionally(new IllegalStateException("batcher is closed"));
+            return queued.result;
+        }
+        // Будим поток только на первом заказе окна и на заполненном пакете, остальные просто ложатся в очередь
+        if (queuedCount == 1 || queuedCount == maxBatchSize) {
+            LockSupport.unpark(consumer);
+        }
+        return queued.result;
+    }
+
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+    public Duration getWindow() {
+        return Duration.ofNanos(windowNanos);
+    }
+
+    public BatchStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Останавливает приём заказов, распределяет уже принятые и дожидается потока разбора очереди.
+     * Заказы, попавшие в очередь после того, как поток её разобрал, завершаются исключением IllegalStateException,
+     * так что результат получает каждый заказ.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        Thread thread;
+        synchronized (this) {
+            thread = consumer;
+        }
+        if (thread == null) {
+            while (depth.get() > 0) {
+                dispatchBatch();
+            }
+        } else {
+            LockSupport.unpark(thread);
+            thread.join();
+        }
+        rejectRemaining();
+    }
+
+    private void rejectRemaining() {
+        QueuedOrder queued;
+        while ((queued = queue.poll()) != null) {
+            depth.decrementAndGet();
+            queued.result.completeExceptionally(new IllegalStateException("batcher is closed"));
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            awaitBatch();
+            dispatchBatch();
+        }
+        while (depth.get() > 0) {
+            dispatchBatch();
+        }
+    }
+
+    private void awaitBatch() {
+        QueuedOrder oldest = queue.peek();
+        if (oldest == null) {
+            LockSupport.park(this);
+            return;
+        }
+
+        long now;
+        while (!closed && depth.get() < maxBatchSize && (now = System.nanoTime()) - oldest.enqueuedAt < windowNanos) {
+            LockSupport.parkNanos(this, oldest.enqueuedAt + windowNanos - now);
+        }
+    }
+
+    private void dispatchBatch() {
+        List<QueuedOrder> batch = new ArrayList<>(Math.min(Math.max(depth.get(), 1), maxBatchSize));
+        QueuedOrder queued;
+        while (batch.size() < maxBatchSize && (queued = queue.poll()) != null) {
+            batch.add(queued);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        depth.addAndGet(-batch.size());
+
+        long now = System.nanoTime();
+        List<Order> orders = new ArrayList<>(batch.size());
+        for (QueuedOrder item : batch) {
+            statistics.recordQueueLatency(now - item.enqueuedAt);
+            orders.add(item.order);
+        }
+        statistics.recordBatch(batch.size());
+        adaptWindow(batch.size());
+
+        Map<UUID, Result<Courier, Error>> results;
+        try {
+            results = dispatcher.dispatchAll(orders, couriers.get());
+        } catch (RuntimeException e) {
+            batch.forEach(item -> item.result.completeExceptionally(e));
+            return;
+        }
+        for (QueuedOrder item : batch) {
+            Result<Courier, Error> result = results.get(item.order.getId());
+            item.result.complete(result != null
+                    ? result
+                    : Result.failure(OrderDispatcherImpl.Errors.nobodyCanTakeOrder()));
+        }
+    }
+
+    private void adaptWindow(int batchSize) {
+        long window = windowNanos;
+        long minWindow = maxDelayNanos >> MIN_WINDOW_SHIFT;
+        if (batchSize > 1) {
+            window = Math.min(maxDelayNanos, Math.max(window << 1, minWindow));
+        } else {
+            window >>= 1;
+            if (window < minWindow) {
+                window = 0;
+            }
+        }
+        windowNanos = window;
+    }
+
+    private record QueuedOrder(Order order, long enqueuedAt, CompletableFuture<Result<Courier, Error>> result) {
+    }
+}
@@ -0,0 +1,486 @@
+package ru.ddd.delivery.core.application.dispatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Speed;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.delivery.core.domain.model.order.OrderStatus;
+import ru.ddd.delivery.core.domain.services.OrderDispatcher;
+import ru.ddd.delivery.core.ports.CourierRepository;
+import ru.ddd.delivery.core.ports.DeliveryMetrics;
+import ru.ddd.delivery.core.ports.DeliveryMetrics.CourierOperation;
+import ru.ddd.delivery.core.ports.OrderRepository;
+import ru.ddd.delivery.core.ports.UnitOfWork;
+import ru.ddd.libs.errs.Error;
+import ru.ddd.libs.errs.Except;
+import ru.ddd.libs.errs.GeneralErrors;
+import ru.ddd.libs.errs.Result;
+import ru.ddd.libs.errs.UnitResult;
+
+/**
+ * Единственный писатель состояния доставки. Команды из любого потока ложатся в неблокирующую очередь и выполняются
+ * по одной потоком, запущенным {@link #start(ThreadFactory)}, поэтому агрегаты не делят между собой вызывающие потоки.
+ * <p>
+ * Поток забирает все накопившиеся команды (не больше maxCommandsPerFlush), выполняет их и сохраняет изменённые
+ * агрегаты пакетными записями через репозитории в одной {@link UnitOfWork}; результаты команд отдаются после записи.
+ * Если запись не удалась, все команды пакета завершаются исключением, а состояние перечитывается из хранилища;
+ * пока перечитать не удалось, каждый следующий пакет сначала повторяет чтение и без него не выполняется.
+ * Если команда бросила Error, поток-писатель останавливается, а все принятые команды завершаются исключением.
+ * <p>
+ * Команды читают только состояние в памяти: курьеры, ожидающие и назначенные заказы загружаются при старте
+ * и после сбоя записи. Из хранилища за пакет читается лишь то, какие из создаваемых заказов уже существуют, -
+ * одним запросом до выполнения команд. Завершённые заказы в памяти не держатся, их повторное завершение - not found.
+ */
+public final class DispatchLoop implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_COMMANDS_PER_FLUSH = 1_024;
+
+    private final CourierRepository courierRepository;
+    private final OrderRepository orderRepository;
+    private final UnitOfWork unitOfWork;
+    private final OrderDispatcher dispatcher;
+    private final int maxCommandsPerFlush;
+    private final DeliveryMetrics metrics;
+
+    private final Queue<Command<?>> commands = new ConcurrentLinkedQueue<>();
+    private volatile Thread writer;
+    private volatile boolean closed;
+
+    // Состояние ниже меняется только потоком-писателем
+    // true, если запись или перечитывание не удались и состояние в памяти может расходиться с хранилищем
+    private boolean stale;
+    private final Map<UUID, Courier> couriers = new LinkedHashMap<>();
+    private final List<Courier> fleet = new ArrayList<>();
+    // Заказы в статусе CREATED в порядке поступления
+    private final Map<UUID, Order> createdOrders = new LinkedHashMap<>();
+    private final Map<UUID, Order> assignedOrders = new HashMap<>();
+    // Сохранённые заказы среди создаваемых в текущем пакете
+    private final Set<UUID> persistedOrderIds = new HashSet<>();
+
+    private final Map<UUID, Courier> addedCouriers = new LinkedHashMap<>();
+    private final Map<UUID, Courier> changedCouriers = new LinkedHashMap<>();
+    private final Map<UUID, Order> addedOrders = new LinkedHashMap<>();
+    private final Map<UUID, Order> changedOrders = new LinkedHashMap<>();
+
+    public DispatchLoop(CourierRepository courierRepository, OrderRepository orderRepository, OrderDispatcher dispatcher) {
+        this(courierRepository, orderRepository, dispatcher, DEFAULT_MAX_COMMANDS_PER_FLUSH);
+    }
+
+    public DispatchLoop(CourierRepository courierRepository, OrderRepository orderRepository, OrderDispatcher dispatcher,
+                        int maxCommandsPerFlush) {
+        this(courierRepository, orderRepository, dispatcher, maxCommandsPerFlush, DeliveryMetrics.NOOP);
+    }
+
+    public DispatchLoop(CourierRepository courierRepository, OrderRepository orderRepository, OrderDispatcher dispatcher,
+                        int maxCommandsPerFlush, DeliveryMetrics metrics) {
+        this(courierRepository, orderRepository, UnitOfWork.NONE, dispatcher, maxCommandsPerFlush, metrics);
+    }
+
+    public DispatchLoop(CourierRepository courierRepository, OrderRepository orderRepository, UnitOfWork unitOfWork,
+                        OrderDispatcher dispatcher, int maxCommandsPerFlush, DeliveryMetrics metrics) {
+        this.courierRepository = Except.againstNull(courierRepository, "courierRepository");
+        this.orderRepository = Except.againstNull(orderRepository, "orderRepository");
+        this.unitOfWork = Except.againstNull(unitOfWork, "unitOfWork");
+        this.dispatcher = Except.againstNull(dispatcher, "dispatcher");
+        this.maxCommandsPerFlush = Except.againstZeroOrNegative(maxCommandsPerFlush, "maxCommandsPerFlush");
+        this.metrics = Except.againstNull(metrics, "metrics");
+    }
+
+    /**
+     * Загружает курьеров, ожидающие и назначенные заказы и запускает поток-писатель. Вызывается один раз.
+     */
+    public synchronized void start(ThreadFactory threadFactory) {
+        Except.againstNull(threadFactory, "threadFactory");
+        if (writer != null) {
+            throw new IllegalStateException("loop is already started");
+        }
+        if (closed) {
+            throw new IllegalStateException("loop is closed");
+        }
+        reload();
+        writer = threadFactory.newThread(this::run);
+        writer.start();
+    }
+
+    public CompletableFuture<Result<Order, Error>> createOrder(UUID orderId, Location location, Volume volume) {
+        Except.againstNull(orderId, "orderId");
+        Except.againstNull(location, "location");
+        Except.againstNull(volume, "volume");
+        return enqueue(() -> doCreateOrder(orderId, location, volume), orderId);
+    }
+
+    public CompletableFuture<Result<Courier, Error>> registerCourier(String name, Speed speed, Location location) {
+        Except.againstNullOrEmpty(name, "name");
+        Except.againstNull(speed, "speed");
+        Except.againstNull(location, "location");
+        return enqueue(() -> measured(CourierOperation.REGISTER,
+                () -> doRegisterCourier(name, speed, location), DispatchLoop::errorOf));
+    }
+
+    public CompletableFuture<UnitResult<Error>> moveCourier(UUID courierId, Location target) {
+        Except.againstNull(courierId, "courierId");
+        Except.againstNull(target, "target");
+        return enqueue(() -> measured(CourierOperation.MOVE,
+                () -> doMoveCourier(courierId, target), DispatchLoop::errorOf));
+    }
+
+    public CompletableFuture<UnitResult<Error>> completeOrder(UUID orderId) {
+        Except.againstNull(orderId, "orderId");
+        return enqueue(() -> measured(CourierOperation.COMPLETE_ORDER,
+                () -> doCompleteOrder(orderId), DispatchLoop::errorOf));
+    }
+
+    /**
+     * Распределяет все ожидающие заказы по парку одним пакетом.
+     */
+    public CompletableFuture<DispatchSummary> dispatch() {
+        return enqueue(this::doDispatch);
+    }
+
+    /**
+     * Останавливает приём команд, выполняет уже принятые и дожидается потока-писателя.
+     * Команды, попавшие в очередь после того, как писатель её разобрал, завершаются исключением IllegalStateException.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        Thread thread;
+        synchronized (this) {
+            thread = writer;
+        }
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join();
+        }
+        rejectQueued(null);
+    }
+
+    private void rejectQueued(Throwable cause) {
+        Command<?> command;
+        while ((command = commands.poll()) != null) {
+            command.result.completeExceptionally(new IllegalStateException("loop is closed", cause));
+        }
+    }
+
+    private <T> CompletableFuture<T> enqueue(Supplier<T> action) {
+        return enqueue(action, null);
+    }
+
+    private <T> CompletableFuture<T> enqueue(Supplier<T> action, UUID createdOrderId) {
+        if (closed) {
+            throw new IllegalStateException("loop is closed");
+        }
+        var command = new Command<>(action, new CompletableFuture<T>(), createdOrderId);
+        commands.add(command);
+        // Закрытие могло пройти между проверкой и add: команду, которую никто не забрал, снимаем сами
+        if (closed && commands.remove(command)) {
+            command.result.completeExceptionally(new IllegalStateException("loop is closed"));
+            return command.result;
+        }
+        LockSupport.unpark(writer);
+        return command.result;
+    }
+
+    private void run() {
+        List<Runnable> completions = new ArrayList<>(maxCommandsPerFlush);
+        List<Command<?>> executed = new ArrayList<>(maxCommandsPerFlush);
+        while (true) {
+            Command<?> command;
+            while (executed.size() < maxCommandsPerFlush && (command = commands.poll()) != null) {
+                executed.add(command);
+            }
+
+            if (executed.isEmpty()) {
+                if (closed) {
+                    return;
+                }
+                LockSupport.park(this);
+                continue;
+            }
+
+            try {
+                if (stale) {
+                    reload();
+                }
+                loadPersistedOrderIds(executed);
+                for (Command<?> next : executed) {
+                    completions.add(next.execute());
+                }
+                flush();
+                completions.forEach(Runnable::run);
+            } catch (Throwable e) {
+                discardChanges();
+                stale = true;
+                try {
+                    reload();
+                } catch (RuntimeException reloadFailure) {
+                    e.addSuppressed(reloadFailure);
+                }
+                executed.forEach(c -> c.result.completeExceptionally(e));
+                if (e instanceof Error error) {
+                    // Писатель останавливается: принятые команды иначе ждали бы вечно
+                    closed = true;
+                    rejectQueued(error);
+                    throw error;
+                }
+            }
+            persistedOrderIds.clear();
+            completions.clear();
+            executed.clear();
+        }
+    }
+
+    /**
+     * Одним запросом узнаёт, какие из создаваемых в пакете заказов уже сохранены.
+     */
+    private void loadPersistedOrderIds(List<Command<?>> batch) {
+        List<UUID> orderIds = null;
+        for (Command<?> command : batch) {
+            UUID orderId = command.createdOrderId;
+            if (orderId != null && !isKnownOrder(orderId)) {
+                if (orderIds == null) {
+                    orderIds = new ArrayList<>();
+                }
+                orderIds.add(orderId);
+            }
+        }
+        if (orderIds != null) {
+            persistedOrderIds.addAll(orderRepository.findExistingIds(orderIds));
+        }
+    }
+
+    private boolean isKnownOrder(UUID orderId) {
+        return createdOrders.containsKey(orderId) || assignedOrders.containsKey(orderId) || addedOrders.containsKey(orderId);
+    }
+
+    private Result<Order, Error> doCreateOrder(UUID orderId, Location location, Volume volume) {
+        if (isKnownOrder(orderId) || persistedOrderIds.contains(orderId)) {
+            Error error = Errors.orderAlreadyExists(orderId);
+            metrics.errorRaised(error);
+            return Result.failure(error);
+        }
+
+        Result<Order, Error> createResult = Order.create(orderId, location, volume);
+        if (createResult.isSuccess()) {
+            Order order = createResult.getValue();
+            createdOrders.put(orderId, order);
+            addedOrders.put(orderId, order);
+        }
+        return createResult;
+    }
+
+    private Result<Courier, Error> doRegisterCourier(String name, Speed speed, Location location) {
+        Result<Courier, Error> createResult = Courier.create(name, speed, location);
+        if (createResult.isSuccess()) {
+            Courier courier = createResult.getValue();
+            couriers.put(courier.getId(), courier);
+            fleet.add(courier);
+            addedCouriers.put(courier.getId(), courier);
+            metrics.watch(courier);
+        }
+        return createResult;
+    }
+
+    private UnitResult<Error> doMoveCourier(UUID courierId, Location target) {
+        Courier courier = couriers.get(courierId);
+        if (courier == null) {
+            return UnitResult.failure(GeneralErrors.notFound("courier", courierId));
+        }
+
+        UnitResult<Error> moveResult = courier.move(target);
+        if (moveResult.isSuccess()) {
+            markChanged(courier);
+        }
+        return moveResult;
+    }
+
+    private UnitResult<Error> doCompleteOrder(UUID orderId) {
+        Order order = assignedOrders.get(orderId);
+        if (order == null) {
+            order = createdOrders.get(orderId);
+        }
+        if (order == null) {
+            return UnitResult.failure(GeneralErrors.notFound("order", orderId));
+        }
+        if (order.getStatus() != OrderStatus.ASSIGNED) {
+            return order.complete();
+        }
+
+        Courier courier = couriers.get(order.getCourierId());
+        if (courier == null) {
+            return UnitResult.failure(GeneralErrors.notFound("courier", order.getCourierId()));
+        }
+        UnitResult<Error> releaseResult = courier.completeOrder(order);
+        if (releaseResult.isFailure()) {
+            return releaseResult;
+        }
+        UnitResult<Error> completeResult = order.complete();
+        assignedOrders.remove(orderId);
+        markChanged(courier);
+        markChanged(order);
+        return completeResult;
+    }
+
+    private DispatchSummary doDispatch() {
+        if (createdOrders.isEmpty() || fleet.isEmpty()) {
+            return new DispatchSummary(0, createdOrders.size());
+        }
+
+        List<Order> orders = new ArrayList<>(createdOrders.values());
+        Map<UUID, Result<Courier, Error>> results = dispatcher.dispatchAll(orders, fleet);
+        int assigned = 0;
+        for (Order order : orders) {
+            Result<Courier, Error> result = results.get(order.getId());
+            if (result == null || result.isFailure()) {
+                continue;
+            }
+            createdOrders.remove(order.getId());
+            assignedOrders.put(order.getId(), order);
+            markChanged(order);
+            markChanged(result.getValue());
+            assigned++;
+        }
+        return new DispatchSummary(assigned, createdOrders.size());
+    }
+
+    private void markChanged(Courier courier) {
+        if (!addedCouriers.containsKey(courier.getId())) {
+            changedCouriers.put(courier.getId(), courier);
+        }
+    }
+
+    private void markChanged(Order order) {
+        if (!addedOrders.containsKey(order.getId())) {
+            changedOrders.put(order.getId(), order);
+        }
+    }
+
+    private <R> R measured(CourierOperation operation, Supplier<R> action, Function<R, Error> errorOf) {
+        if (!metrics.isEnabled()) {
+            return action.get();
+        }
+        long startedAt = System.nanoTime();
+        R result = action.get();
+        metrics.courierOperationCompleted(operation, System.nanoTime() - startedAt, errorOf.apply(result));
+        return result;
+    }
+
+    private static Error errorOf(Result<?, Error> result) {
+        return result.isSuccess() ? null : result.getError();
+    }
+
+    private static Error errorOf(UnitResult<Error> result) {
+        return result.isSuccess() ? null : result.getError();
+    }
+
+    private void flush() {
+        long startedAt = metrics.isEnabled() ? System.nanoTime() : 0;
+        int aggregateCount = addedCouriers.size() + changedCouriers.size() + addedOrders.size() + changedOrders.size();
+        if (aggregateCount == 0) {
+            return;
+        }
+        unitOfWork.execute(() -> {
+            if (!addedCouriers.isEmpty()) {
+                courierRepository.addAll(addedCouriers.values());
+            }
+            if (!changedCouriers.isEmpty()) {
+                courierRepository.updateAll(changedCouriers.values());
+            }
+            if (!addedOrders.isEmpty()) {
+                orderRepository.addAll(addedOrders.values());
+            }
+            if (!changedOrders.isEmpty()) {
+                orderRepository.updateAll(changedOrders.values());
+            }
+        });
+        discardChanges();
+        if (metrics.isEnabled()) {
+            metrics.persisted(System.nanoTime() - startedAt, aggregateCount);
+        }
+    }
+
+    private void discardChanges() {
+        addedCouriers.clear();
+        changedCouriers.clear();
+        addedOrders.clear();
+        changedOrders.clear();
+    }
+
+    /**
+     * Перечитывает состояние из хранилища. Текущее состояние заменяется только после успешного чтения;
+     * если чтение не удалось, состояние остаётся помеченным устаревшим и перечитывается перед следующим пакетом.
+     */
+    private void reload() {
+        List<Courier> loadedCouriers = courierRepository.getAll();
+        List<Order> loadedCreated = orderRepository.getAllCreated();
+        List<Order> loadedAssigned = orderRepository.getAllAssigned();
+
+        couriers.clear();
+        fleet.clear();
+        createdOrders.clear();
+        assignedOrders.clear();
+        for (Courier courier : loadedCouriers) {
+            couriers.put(courier.getId(), courier);
+            fleet.add(courier);
+            metrics.watch(courier);
+        }
+        for (Order order : loadedCreated) {
+            createdOrders.put(order.getId(), order);
+        }
+        for (Order order : loadedAssigned) {
+            assignedOrders.put(order.getId(), order);
+        }
+        stale = false;
+    }
+
+    /**
+     * Итог распределения.
+     *
+     * @param assigned сколько заказов назначено
+     * @param pending  сколько заказов осталось ждать
+     */
+    public record DispatchSummary(int assigned, int pending) {
+    }
+
+    /**
+     * @param createdOrderId идентификатор заказа, который создаёт команда, иначе null
+     */
+    private record Command<T>(Supplier<T> action, CompletableFuture<T> result, UUID createdOrderId) {
+
+        /**
+         * Выполняет команду; результат отдаётся вызывающему только после записи пакета.
+         */
+        private Runnable execute() {
+            try {
+                T value = action.get();
+                return () -> result.complete(value);
+            } catch (RuntimeException e) {
+                return () -> result.completeExceptionally(e);
+            }
+        }
+    }
+
+    public static class Errors {
+        public static Error orderAlreadyExists(UUID orderId) {
+            return Error.of("order.already.exists",
+                            "Заказ " + orderId + " уже существует");
+        }
+    }
+}
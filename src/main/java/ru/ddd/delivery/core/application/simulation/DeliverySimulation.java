@@ -0,0 +1,299 @@
+package ru.ddd.delivery.core.application.simulation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.delivery.core.domain.model.order.OrderStatus;
+import ru.ddd.delivery.core.domain.services.OrderDispatcher;
+import ru.ddd.delivery.core.domain.services.PendingOrders;
+import ru.ddd.libs.ddd.Aggregate;
+import ru.ddd.libs.ddd.DomainEvent;
+import ru.ddd.libs.errs.Error;
+import ru.ddd.libs.errs.Except;
+import ru.ddd.libs.errs.Result;
+
+/**
+ * Тактовая симуляция доставки. За такт:
+ * <ol>
+ *     <li>каждый курьер с заказами делает шаг к ближайшему из них; заказы в точке прибытия завершаются
+ *     у курьера и у заказа. Парк делится на части по partitionSize курьеров, части обрабатываются в pool параллельно;
+ *     заказ, который курьер уже выложил, снимается с него, даже если сам заказ завершить не удалось, -
+ *     такие отказы и неудачные шаги считаются в {@link TickReport#failed()};</li>
+ *     <li>отложенные заказы предлагаются только курьерам, у которых за такт освободилось место ({@link PendingOrders});</li>
+ *     <li>новые заказы распределяются по парку одним пакетом, не взятые никем откладываются.</li>
+ * </ol>
+ * События курьеров и заказов забираются каждый такт и передаются в events, иначе они копились бы в агрегатах
+ * без ограничения. events вызывается из потоков pool.
+ * Такты выполняются по одному: {@link #tick()} нельзя вызывать параллельно. {@link #submit(Order)} - из любого потока.
+ */
+public final class DeliverySimulation {
+
+    public static final int DEFAULT_PARTITION_SIZE = 1_024;
+
+    private static final int DEFAULT_STATISTICS_WINDOW = 1_024;
+
+    private final List<Courier> couriers;
+    private final Map<UUID, Integer> courierIndexes;
+    // Заказы, которые везёт курьер с тем же индексом. Меняется только потоком, обрабатывающим часть с этим курьером
+    private final List<List<Order>> carriedOrders;
+    private final Queue<Order> submittedOrders = new ConcurrentLinkedQueue<>();
+    private final PendingOrders pendingOrders = new PendingOrders();
+
+    private final OrderDispatcher dispatcher;
+    private final ForkJoinPool pool;
+    private final int partitionSize;
+    private final Consumer<DomainEvent> events;
+    private final TickStatistics statistics = new TickStatistics(DEFAULT_STATISTICS_WINDOW);
+    private long tick;
+
+    public DeliverySimulation(List<Courier> couriers, OrderDispatcher dispatcher) {
+        this(couriers, dispatcher, ForkJoinPool.commonPool(), DEFAULT_PARTITION_SIZE);
+    }
+
+    public DeliverySimulation(List<Courier> couriers, OrderDispatcher dispatcher, ForkJoinPool pool, int partitionSize) {
+        this(couriers, dispatcher, pool, partitionSize, event -> { });
+    }
+
+    public DeliverySimulation(List<Courier> couriers, OrderDispatcher dispatcher, ForkJoinPool pool, int partitionSize,
+                              Consumer<DomainEvent> events) {
+        Except.againstNull(couriers, "couriers");
+        this.dispatcher = Except.againstNull(dispatcher, "dispatcher");
+        this.pool = Except.againstNull(pool, "pool");
+        this.partitionSize = Except.againstZeroOrNegative(partitionSize, "partitionSize");
+        this.events = Except.againstNull(events, "events");
+
+        this.couriers = List.copyOf(couriers);
+        this.courierIndexes = new HashMap<>(couriers.size() * 2);
+        this.carriedOrders = new ArrayList<>(couriers.size());
+        for (int i = 0; i < this.couriers.size(); i++) {
+            courierIndexes.put(this.couriers.get(i).getId(), i);
+            carriedOrders.add(new ArrayList<>(1));
+        }
+        pendingOrders.watchAll(this.couriers);
+    }
+
+    /**
+     * Продолжает доставку уже назначенного заказа, например после перезапуска.
+     */
+    public void resume(Order order) {
+        Except.againstNull(order, "order");
+        if (order.getStatus() != OrderStatus.ASSIGNED) {
+            throw new IllegalArgumentException("order must be ASSIGNED");
+        }
+
+        Integer index = courierIndexes.get(order.getCourierId());
+        if (index == null) {
+            throw new IllegalArgumentException("Courier not found: " + order.getCourierId());
+        }
+        carriedOrders.get(index).add(order);
+    }
+
+    /**
+     * Ставит новый заказ в очередь на распределение в следующем такте.
+     */
+    public void submit(Order order) {
+        submittedOrders.add(Except.againstNull(order, "order"));
+    }
+
+    public TickReport tick() {
+        long startedAt = System.nanoTime();
+        tick++;
+
+        MoveTotals moveTotals = couriers.isEmpty()
+                ? MoveTotals.NONE
+                : pool.invoke(new MoveTask(0, couriers.size()));
+        int assigned = redispatchPendingOrders() + dispatchSubmittedOrders();
+
+        long duration = System.nanoTime() - startedAt;
+        statistics.record(duration);
+        return new TickReport(tick, moveTotals.moved, moveTotals.completed, moveTotals.failed, assigned, pendingOrders.size(),
+                duration);
+    }
+
+    /**
+     * Запускает такты с фиксированным периодом. Если такт не укладывается в период, следующий начнётся сразу после него.
+     * Такт, прерванный исключением, учитывается в {@link TickStatistics#failureCount()}, и расписание продолжается.
+     */
+    public ScheduledFuture<?> start(ScheduledExecutorService scheduler, Duration tickInterval) {
+        Except.againstNull(scheduler, "scheduler");
+        long period = Except.againstZeroOrNegative(Except.againstNull(tickInterval, "tickInterval").toNanos(), "tickInterval");
+        return scheduler.scheduleAtFixedRate(this::scheduledTick, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    // scheduleAtFixedRate молча отменяет задачу после первого исключения
+    private void scheduledTick() {
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            statistics.recordFailure(e);
+        }
+    }
+
+    public TickStatistics getStatistics() {
+        return statistics;
+    }
+
+    public int getPendingOrderCount() {
+        return pendingOrders.size();
+    }
+
+    private int redispatchPendingOrders() {
+        List<Order> assigned = pendingOrders.redispatch();
+        for (Order order : assigned) {
+            carriedOrders.get(courierIndexes.get(order.getCourierId())).add(order);
+            publishEvents(order);
+        }
+        return assigned.size();
+    }
+
+    private int dispatchSubmittedOrders() {
+        List<Order> orders = new ArrayList<>();
+        Order submitted;
+        while ((submitted = submittedOrders.poll()) != null) {
+            orders.add(submitted);
+        }
+        if (orders.isEmpty()) {
+            return 0;
+        }
+        if (couriers.isEmpty()) {
+            orders.forEach(pendingOrders::park);
+            return 0;
+        }
+
+        Map<UUID, Result<Courier, Error>> results = dispatcher.dispatchAll(orders, couriers);
+        int assigned = 0;
+        for (Order order : orders) {
+            Result<Courier, Error> result = results.get(order.getId());
+            if (result == null || result.isFailure()) {
+                if (order.getStatus() == OrderStatus.CREATED) {
+                    pendingOrders.park(order);
+                }
+                continue;
+            }
+            carriedOrders.get(courierIndexes.get(result.getValue().getId())).add(order);
+            publishEvents(order);
+            assigned++;
+        }
+        return assigned;
+    }
+
+    /**
+     * Шаг одного курьера к ближайшему заказу и завершение заказов в точке прибытия; события курьера и завершённых
+     * заказов забираются здесь же.
+     */
+    private void advance(int index, Tally tally) {
+        Courier courier = couriers.get(index);
+        List<Order> orders = carriedOrders.get(index);
+        if (orders.isEmpty()) {
+            publishEvents(courier);
+            return;
+        }
+
+        tally.moved++;
+        if (courier.move(nearest(courier.getLocation(), orders)).isFailure()) {
+            tally.failed++;
+        }
+
+        Location location = courier.getLocation();
+        for (int i = orders.size() - 1; i >= 0; i--) {
+            Order order = orders.get(i);
+            if (!order.getLocation().equals(location)) {
+                continue;
+            }
+
+            // Курьер выложил заказ или его у курьера уже нет - возить дальше нечего
+            orders.remove(i);
+            if (courier.completeOrder(order).isSuccess() && order.complete().isSuccess()) {
+                tally.completed++;
+            } else {
+                tally.failed++;
+            }
+            publishEvents(order);
+        }
+        publishEvents(courier);
+    }
+
+    private void publishEvents(Aggregate<?> aggregate) {
+        for (DomainEvent event : aggregate.pullDomainEvents()) {
+            events.accept(event);
+        }
+    }
+
+    private static Location nearest(Location from, List<Order> orders) {
+        Location nearest = orders.get(0).getLocation();
+        int nearestDistance = from.distanceToAsInt(nearest).getValue();
+        for (int i = 1; i < orders.size(); i++) {
+            Location location = orders.get(i).getLocation();
+            int distance = from.distanceToAsInt(location).getValue();
+            if (distance < nearestDistance) {
+                nearest = location;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    private record MoveTotals(int moved, int completed, int failed) {
+        private static final MoveTotals NONE = new MoveTotals(0, 0, 0);
+
+        private MoveTotals plus(MoveTotals other) {
+            return new MoveTotals(moved + other.moved, completed + other.completed, failed + other.failed);
+        }
+    }
+
+    /**
+     * Счётчики одной части парка; принадлежат потоку, который её обрабатывает.
+     */
+    private static final class Tally {
+        private int moved;
+        private int completed;
+        private int failed;
+    }
+
+    private final class MoveTask extends RecursiveTask<MoveTotals> {
+        private final int from;
+        private final int to;
+
+        private MoveTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected MoveTotals compute() {
+            if (to - from <= partitionSize) {
+                return computeSequentially();
+            }
+
+            int middle = (from + to) >>> 1;
+            var left = new MoveTask(from, middle);
+            var right = new MoveTask(middle, to);
+            left.fork();
+            MoveTotals rightTotals = right.compute();
+            return left.join().plus(rightTotals);
+        }
+
+        private MoveTotals computeSequentially() {
+            var tally = new Tally();
+            for (int i = from; i < to; i++) {
+                advance(i, tally);
+            }
+            return new MoveTotals(tally.moved, tally.completed, tally.failed);
+        }
+    }
+}
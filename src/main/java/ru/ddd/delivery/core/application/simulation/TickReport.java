@@ -0,0 +1,15 @@
+package ru.ddd.delivery.core.application.simulation;
+
+/**
+ * Итог одного такта симуляции.
+ *
+ * @param tick          номер такта, начиная с 1
+ * @param moved         сколько курьеров сделали шаг
+ * @param completed     сколько заказов доставлено
+ * @param failed        сколько шагов или завершений заказов не удалось
+ * @param assigned      сколько заказов назначено за такт: ожидавших и поступивших с прошлого такта
+ * @param pending       сколько заказов осталось без курьера
+ * @param durationNanos длительность такта в наносекундах
+ */
+public record TickReport(long tick, int moved, int completed, int failed, int assigned, int pending, long durationNanos) {
+}
@@ -0,0 +1,77 @@
+package ru.ddd.delivery.core.application.simulation;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import ru.ddd.libs.errs.Except;
+
+/**
+ * Длительности последних тактов в кольцевом буфере. Запись - без аллокаций; перцентили считаются
+ * по копии окна при запросе. Потокобезопасно.
+ */
+public final class TickStatistics {
+
+    private final long[] durations;
+    private long count;
+    private long failureCount;
+    private RuntimeException lastFailure;
+
+    public TickStatistics(int window) {
+        this.durations = new long[Except.againstZeroOrNegative(window, "window")];
+    }
+
+    public synchronized void record(long durationNanos) {
+        durations[(int) (count % durations.length)] = durationNanos;
+        count++;
+    }
+
+    /**
+     * Такт, прерванный исключением; в окно длительностей не попадает.
+     */
+    public synchronized void recordFailure(RuntimeException failure) {
+        failureCount++;
+        lastFailure = failure;
+    }
+
+    public synchronized long failureCount() {
+        return failureCount;
+    }
+
+    public synchronized Optional<RuntimeException> lastFailure() {
+        return Optional.ofNullable(lastFailure);
+    }
+
+    /**
+     * Всего записанных тактов, включая вытесненные из окна.
+     */
+    public synchronized long count() {
+        return count;
+    }
+
+    /**
+     * Перцентиль длительности такта в наносекундах по окну методом ближайшего ранга; 0, если тактов ещё не было.
+     *
+     * @param percentile от 0 до 100
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be in [0, 100]");
+        }
+
+        long[] window = snapshot();
+        if (window.length == 0) {
+            return 0;
+        }
+        Arrays.sort(window);
+        int rank = (int) Math.ceil(percentile / 100 * window.length);
+        return window[Math.max(rank, 1) - 1];
+    }
+
+    public long max() {
+        return percentile(100);
+    }
+
+    private synchronized long[] snapshot() {
+        return Arrays.copyOf(durations, (int) Math.min(count, durations.length));
+    }
+}
@@ -1,21 +1,20 @@
 package ru.ddd.delivery.core.domain.model;
 
-import java.util.List;
-
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import ru.ddd.libs.ddd.ValueObject;
+import ru.ddd.libs.ddd.IntValueObject;
 import ru.ddd.libs.errs.Err;
 import ru.ddd.libs.errs.Error;
 import ru.ddd.libs.errs.Except;
+import ru.ddd.libs.errs.IntResult;
 import ru.ddd.libs.errs.Result;
 
 @Getter
 @NoArgsConstructor(force = true, access = AccessLevel.PRIVATE)
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
-public final class Location extends ValueObject<Location> {
+public final class Location extends IntValueObject<Location> {
     private static final int COORDINATE_MIN_VALUE = 1;
     private static final int COORDINATE_MAX_VALUE = 10;
 
@@ -29,8 +28,8 @@ public final class Location extends ValueObject<Location> {
      */
     private final int y;
 
-    public static final Location MIN_VALUE = new Location(COORDINATE_MIN_VALUE, COORDINATE_MIN_VALUE);
-    public static final Location MAX_VALUE = new Location(COORDINATE_MAX_VALUE, COORDINATE_MAX_VALUE);
+    public static final Location MIN_VALUE = create(COORDINATE_MIN_VALUE, COORDINATE_MIN_VALUE).getValue();
+    public static final Location MAX_VALUE = create(COORDINATE_MAX_VALUE, COORDINATE_MAX_VALUE).getValue();
 
     public static Result<Location, Error> create(int x, int y) {
         var err = Err.combine(
@@ -38,21 +37,58 @@ public final class Location extends ValueObject<Location> {
                 Err.againstOutOfRange(y, COORDINATE_MIN_VALUE, COORDINATE_MAX_VALUE, "y"));
         if (err != null) return Result.failure(err);
 
-        return Result.success(new Location(x, y));
+        return Cache.get(x, y);
+    }
+
+    @Override
+    protected int intComponentCount() {
+        return 2;
     }
 
     @Override
-    protected Iterable<Object> equalityComponents() {
-        return List.of(this.x, this.y);
+    protected int intComponent(int index) {
+        return index == 0 ? this.x : this.y;
+    }
+
+    /**
+     * Все точки поля создаются один раз вместе с успешными Result, поэтому create не аллоцирует,
+     * а равные Location, полученные через create, - один и тот же экземпляр.
+     */
+    private static final class Cache {
+        private static final int SIZE = COORDINATE_MAX_VALUE - COORDINATE_MIN_VALUE + 1;
+        private static final Result<Location, Error>[] RESULTS = createResults();
+
+        @SuppressWarnings("unchecked")
+        private static Result<Location, Error>[] createResults() {
+            Result<Location, Error>[] results = new Result[SIZE * SIZE];
+            for (int x = COORDINATE_MIN_VALUE; x <= COORDINATE_MAX_VALUE; x++) {
+                for (int y = COORDINATE_MIN_VALUE; y <= COORDINATE_MAX_VALUE; y++) {
+                    results[index(x, y)] = Result.success(new Location(x, y));
+                }
+            }
+            return results;
+        }
+
+        private static int index(int x, int y) {
+            return (x - COORDINATE_MIN_VALUE) * SIZE + (y - COORDINATE_MIN_VALUE);
+        }
+
+        private static Result<Location, Error> get(int x, int y) {
+            return RESULTS[index(x, y)];
+        }
     }
 
     public Result<Integer, Error> distanceTo(Location target) {
+        return distanceToAsInt(target).toResult();
+    }
+
+    public IntResult<Error> distanceToAsInt(Location target) {
         Except.againstNull(target, "target");
-        if (this.equals(target)) return Result.success(0);
+        if (this.equals(target)) return IntResult.success(0);
 
         int xDistance = Math.abs(this.x - target.getX());
         int yDistance = Math.abs(this.y - target.getY());
-        return Result.success(xDistance + yDistance);
+        return IntResult.success(xDistance + yDistance);
     }
 
 }
@@ -1,12 +1,10 @@
 package ru.ddd.delivery.core.domain.model;
 
-import java.util.List;
-
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import ru.ddd.libs.ddd.ValueObject;
+import ru.ddd.libs.ddd.IntValueObject;
 import ru.ddd.libs.errs.Err;
 import ru.ddd.libs.errs.Error;
 import ru.ddd.libs.errs.Result;
@@ -14,7 +12,7 @@ import ru.ddd.libs.errs.Result;
 @Getter
 @NoArgsConstructor(force = true, access = AccessLevel.PRIVATE)
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
-public class Speed extends ValueObject<Speed> {
+public class Speed extends IntValueObject<Speed> {
 
     private final int value;
 
@@ -22,12 +20,37 @@ public class Speed extends ValueObject<Speed> {
         var err = Err.againstZeroOrNegative(value, "value");
         if (err != null) return Result.failure(err);
 
+        if (value <= Cache.MAX_VALUE) return Cache.RESULTS[value];
+
         return Result.success(new Speed(value));
     }
 
+    /**
+     * Успешные Result для значений 1..MAX_VALUE создаются заранее.
+     * Верхнюю границу можно поднять системным свойством delivery.speed.cache.max.
+     */
+    private static final class Cache {
+        private static final int MAX_VALUE = Math.max(0, Integer.getInteger("delivery.speed.cache.max", 32));
+        private static final Result<Speed, Error>[] RESULTS = createResults();
+
+        @SuppressWarnings("unchecked")
+        private static Result<Speed, Error>[] createResults() {
+            Result<Speed, Error>[] results = new Result[MAX_VALUE + 1];
+            for (int value = 1; value <= MAX_VALUE; value++) {
+                results[value] = Result.success(new Speed(value));
+            }
+            return results;
+        }
+    }
+
+    @Override
+    protected int intComponentCount() {
+        return 1;
+    }
+
     @Override
-    protected Iterable<Object> equalityComponents() {
-        return List.of(this.value);
+    protected int intComponent(int index) {
+        return this.value;
     }
 
 }
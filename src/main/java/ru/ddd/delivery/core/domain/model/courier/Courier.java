@@ -1,9 +1,12 @@
 package ru.ddd.delivery.core.domain.model.courier;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -11,8 +14,13 @@ import lombok.NoArgsConstructor;
 import ru.ddd.delivery.core.domain.model.Location;
 import ru.ddd.delivery.core.domain.model.Speed;
 import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.courier.events.CourierMovedDomainEvent;
+import ru.ddd.delivery.core.domain.model.courier.events.OrderReleasedDomainEvent;
+import ru.ddd.delivery.core.domain.model.courier.events.OrderTakenDomainEvent;
 import ru.ddd.delivery.core.domain.model.order.Order;
 import ru.ddd.libs.ddd.Aggregate;
+import ru.ddd.libs.ddd.Ids;
+import ru.ddd.libs.errs.DoubleResult;
 import ru.ddd.libs.errs.Error;
 import ru.ddd.libs.errs.Except;
 import ru.ddd.libs.errs.GeneralErrors;
@@ -22,6 +30,8 @@ import ru.ddd.libs.errs.UnitResult;
 @NoArgsConstructor(force = true, access = AccessLevel.PRIVATE)
 public final class Courier extends Aggregate<UUID> {
 
+    private static final Result<Boolean, Error> CAN_TAKE_ORDER = Result.success(true);
+
     @Getter
     private final String name;
 
@@ -29,17 +39,40 @@ public final class Courier extends Aggregate<UUID> {
     private final Speed speed;
 
     @Getter
-    private Location location;
+    private volatile Location location;
 
+    // Места хранения добавляются редко, а читаются при каждом распределении
     private List<StoragePlace> storagePlaces;
 
+    // Сводка свободных мест: проверка вместимости за O(1), выбор места за O(log n)
+    private volatile FreeStoragePlaces freeStoragePlaces;
+
+    // Где лежит каждый взятый заказ: завершение и поиск за O(1). Изменяется под блокировкой курьера
+    private volatile Map<UUID, StoragePlace> storagePlaceByOrderId;
+
+    private volatile StoragePlaceAllocation storagePlaceAllocation = StoragePlaceAllocation.BEST_FIT;
+
+    private CopyOnWriteArrayList<CourierStateListener> stateListeners = new CopyOnWriteArrayList<>();
+
     private Courier(String name, Speed speed, Location location, StoragePlace storagePlace) {
-        super(UUID.randomUUID());
+        this(Ids.next(), name, speed, location, StoragePlaceAllocation.BEST_FIT, List.of(storagePlace));
+    }
+
+    private Courier(UUID id, String name, Speed speed, Location location,
+                    StoragePlaceAllocation storagePlaceAllocation, List<StoragePlace> storagePlaces) {
+        super(id);
         this.name = name;
         this.speed = speed;
         this.location = location;
-        storagePlaces = new ArrayList<>();
-        storagePlaces.add(storagePlace);
+        this.storagePlaceAllocation = storagePlaceAllocation;
+        this.storagePlaces = new CopyOnWriteArrayList<>(storagePlaces);
+        freeStoragePlaces = new FreeStoragePlaces(this.storagePlaces);
+        storagePlaceByOrderId = new ConcurrentHashMap<>();
+        for (StoragePlace storagePlace : this.storagePlaces) {
+            for (UUID orderId : storagePlace.getOrderIds()) {
+                storagePlaceByOrderId.put(orderId, storagePlace);
+            }
+        }
     }
 
     public static Result<Courier, Error> create(String name, Speed speed, Location location) {
@@ -55,6 +88,21 @@ public final class Courier extends Aggregate<UUID> {
         return Result.success(courier);
     }
 
+    /**
+     * Восстанавливает курьера из хранилища вместе с местами хранения и лежащими в них заказами.
+     */
+    public static Courier restore(UUID id, String name, Speed speed, Location location,
+                                  StoragePlaceAllocation storagePlaceAllocation, List<StoragePlace> storagePlaces) {
+        Except.againstNull(id, "id");
+        Except.againstNull(name, "name");
+        Except.againstNull(speed, "speed");
+        Except.againstNull(location, "location");
+        Except.againstNull(storagePlaceAllocation, "storagePlaceAllocation");
+        Except.againstNull(storagePlaces, "storagePlaces");
+
+        return new Courier(id, name, speed, location, storagePlaceAllocation, storagePlaces);
+    }
+
     private static Result<StoragePlace, Error> addDefaultStoragePlace() {
         var createVolumeResult = Volume.create(10);
         if (createVolumeResult.isFailure()) {
@@ -63,83 +111,239 @@ public final class Courier extends Aggregate<UUID> {
         return StoragePlace.create("Рюкзак", createVolumeResult.getValue());
     }
 
+    public List<StoragePlace> getStoragePlaces() {
+        return Collections.unmodifiableList(storagePlaces);
+    }
+
+    /**
+     * Наибольший объём заказа, который курьер может взять сейчас, 0 - если мест нет.
+     */
+    public int getMaxFreeVolume() {
+        return freeStoragePlaces().maxFreeVolume();
+    }
+
+    /**
+     * Суммарный свободный объём всех мест хранения.
+     */
+    public int getRemainingVolume() {
+        int remaining = 0;
+        for (StoragePlace storagePlace : storagePlaces) {
+            remaining += storagePlace.getRemainingVolume();
+        }
+        return remaining;
+    }
+
+    public boolean hasOrders() {
+        return !storagePlaceByOrderId().isEmpty();
+    }
+
+    public StoragePlaceAllocation getStoragePlaceAllocation() {
+        StoragePlaceAllocation allocation = storagePlaceAllocation;
+        return allocation == null ? StoragePlaceAllocation.BEST_FIT : allocation;
+    }
+
+    public void changeStoragePlaceAllocation(StoragePlaceAllocation storagePlaceAllocation) {
+        this.storagePlaceAllocation = Except.againstNull(storagePlaceAllocation, "storagePlaceAllocation");
+    }
+
     public UnitResult<Error> addStoragePlace(String name, Volume volume) {
         Except.againstNull(name, "name");
         Except.againstNull(volume, "volume");
-        
-        var createStoragePlaceResult = StoragePlace.create(name, volume);
+
+        return addStoragePlace(StoragePlace.create(name, volume));
+    }
+
+    /**
+     * Добавляет общее место хранения, в которое помещается несколько заказов в пределах его объёма.
+     */
+    public UnitResult<Error> addSharedStoragePlace(String name, Volume volume) {
+        Except.againstNull(name, "name");
+        Except.againstNull(volume, "volume");
+
+        return addStoragePlace(StoragePlace.createShared(name, volume));
+    }
+
+    private synchronized UnitResult<Error> addStoragePlace(Result<StoragePlace, Error> createStoragePlaceResult) {
         if (createStoragePlaceResult.isFailure()) {
             return UnitResult.failure(createStoragePlaceResult.getError());
         }
 
         storagePlaces.add(createStoragePlaceResult.getValue());
+        freeStoragePlaces().append(createStoragePlaceResult.getValue());
+        notifyStateChanged();
         return UnitResult.success();
     }
 
+    public void addStateListener(CourierStateListener listener) {
+        Except.againstNull(listener, "listener");
+        if (stateListeners == null) {
+            stateListeners = new CopyOnWriteArrayList<>();
+        }
+        stateListeners.addIfAbsent(listener);
+    }
+
+    public void removeStateListener(CourierStateListener listener) {
+        if (stateListeners != null) {
+            stateListeners.remove(listener);
+        }
+    }
+
+    /**
+     * Сводка строится заново, если курьер восстановлен без конструктора, например из хранилища.
+     */
+    private FreeStoragePlaces freeStoragePlaces() {
+        FreeStoragePlaces free = freeStoragePlaces;
+        if (free == null) {
+            synchronized (this) {
+                free = freeStoragePlaces;
+                if (free == null) {
+                    free = new FreeStoragePlaces(storagePlaces);
+                    freeStoragePlaces = free;
+                }
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Индекс строится заново по местам хранения, если курьер восстановлен без конструктора.
+     */
+    private Map<UUID, StoragePlace> storagePlaceByOrderId() {
+        Map<UUID, StoragePlace> index = storagePlaceByOrderId;
+        if (index == null) {
+            synchronized (this) {
+                index = storagePlaceByOrderId;
+                if (index == null) {
+                    index = new ConcurrentHashMap<>();
+                    for (StoragePlace storagePlace : storagePlaces) {
+                        for (UUID orderId : storagePlace.getOrderIds()) {
+                            index.put(orderId, storagePlace);
+                        }
+                    }
+                    storagePlaceByOrderId = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    private void notifyStateChanged() {
+        if (stateListeners == null) {
+            return;
+        }
+        for (CourierStateListener listener : stateListeners) {
+            listener.courierStateChanged(this);
+        }
+    }
+
     public Result<Boolean, Error> canTakeOrder(Order order) {
         Except.againstNull(order, "order");
 
-        boolean canTakeOrder = storagePlaces.stream().anyMatch(s -> s.canStore(order.getVolume()).getValue());
-        if (!canTakeOrder) {
+        if (order.getVolume().getValue() > getMaxFreeVolume()) {
             return Result.failure(Errors.noSuitableStoragePlaces());
         }
 
-        return Result.success(canTakeOrder);
+        return CAN_TAKE_ORDER;
     }
 
-    public UnitResult<Error> takeOrder(Order order) {
+    /**
+     * Занимает свободное место, выбранное стратегией {@link #getStoragePlaceAllocation()}; по умолчанию - наименьшее
+     * подходящее (best-fit). Изменения мест хранения сериализуются на курьере, поэтому параллельные вызовы не пересекаются.
+     * <p>
+     * Монитор курьера охраняет список мест хранения, индекс заказов по местам и сводку свободных мест
+     * ({@link FreeStoragePlaces}): выбор места, его занятие и обновление сводки происходят под ним одним действием.
+     * Параллельные диспетчеры конкурируют только за монитор выбранного курьера, а не за весь парк.
+     */
+    public synchronized UnitResult<Error> takeOrder(Order order) {
         Except.againstNull(order, "order");
-        
-        Optional<StoragePlace> suitableStoragePlace = storagePlaces.stream().filter(s -> s.canStore(order.getVolume()).getValue()).findFirst();
 
-        if (suitableStoragePlace.isEmpty()) {
-            return UnitResult.failure(Errors.noSuitableStoragePlaces());
+        if (storagePlaceByOrderId().containsKey(order.getId())) {
+            return UnitResult.failure(StoragePlace.Errors.orderIsAlreadyStored(order.getId()));
         }
 
-        UnitResult<Error> storeResult = suitableStoragePlace.get().store(order.getId(), order.getVolume());
-        if (storeResult.isFailure()) {
-            return UnitResult.failure(storeResult.getError());
+        FreeStoragePlaces free = freeStoragePlaces();
+        StoragePlaceAllocation allocation = getStoragePlaceAllocation();
+        int orderVolume = order.getVolume().getValue();
+        StoragePlace storagePlace;
+        while ((storagePlace = allocation.select(free, orderVolume)) != null) {
+            UnitResult<Error> storeResult = storagePlace.store(order.getId(), order.getVolume());
+            boolean indexChanged = free.refresh(storagePlace);
+            if (storeResult.isSuccess()) {
+                storagePlaceByOrderId().put(order.getId(), storagePlace);
+                raiseDomainEvent(new OrderTakenDomainEvent(this, order.getId(), storagePlace.getId(), orderVolume));
+                notifyStateChanged();
+                return UnitResult.success();
+            }
+            // Место изменили в обход курьера - индекс поправлен, пробуем снова; иначе повтор ничего не даст
+            if (!indexChanged) {
+                return storeResult;
+            }
         }
 
-        return UnitResult.success();
+        return UnitResult.failure(Errors.noSuitableStoragePlaces());
     }
 
-    public UnitResult<Error> completeOrder(Order order) {
+    public synchronized UnitResult<Error> completeOrder(Order order) {
         Except.againstNull(order, "order");
         
-        Optional<StoragePlace> orderStoragePlace = storagePlaces
-                                                    .stream()
-                                                    .filter(s -> s.getOrderId()
-                                                                    .map(oId -> oId.equals(order.getId()))
-                                                                    .orElse(false))
-                                                    .findFirst();
-
-        if (orderStoragePlace.isEmpty()) {
-            List<UUID> uuids = storagePlaces.stream().map(s -> s.getOrderId().orElse(null)).filter(oId -> oId != null).toList();
-            return UnitResult.failure(Errors.noSuchOrderInStoragePlaces(uuids));
+        StoragePlace orderStoragePlace = storagePlaceByOrderId().get(order.getId());
+        if (orderStoragePlace == null) {
+            return UnitResult.failure(Errors.noSuchOrderInStoragePlaces(storedOrderIds()));
         }
 
-        UnitResult<Error> clearResult = orderStoragePlace.get().clear(order.getId());
+        UnitResult<Error> clearResult = orderStoragePlace.clear(order.getId());
+        freeStoragePlaces().refresh(orderStoragePlace);
         if (clearResult.isFailure()) {
             return UnitResult.failure(clearResult.getError());
         }
-        
+
+        storagePlaceByOrderId().remove(order.getId());
+        raiseOrderReleased(order, orderStoragePlace);
+        notifyStateChanged();
         return UnitResult.success();
     }
 
+    /**
+     * Место хранения, в котором лежит заказ.
+     */
+    public Optional<StoragePlace> findStoragePlace(UUID orderId) {
+        Except.againstNull(orderId, "orderId");
+        return Optional.ofNullable(storagePlaceByOrderId().get(orderId));
+    }
+
+    private List<UUID> storedOrderIds() {
+        return storagePlaces.stream().flatMap(s -> s.getOrderIds().stream()).toList();
+    }
+
     public Result<Double, Error> calculateTimeToLocation(Location location) {
+        return calculateTimeToLocationAsDouble(location).toResult();
+    }
+
+    public DoubleResult<Error> calculateTimeToLocationAsDouble(Location location) {
         Except.againstNull(location, "location");
 
-        var distanceResult = this.location.distanceTo(location);
+        var distanceResult = this.location.distanceToAsInt(location);
         if (distanceResult.isFailure()) {
-            return Result.failure(distanceResult.getError());
+            return DoubleResult.failure(distanceResult.getError());
         }
 
         double timeToLocation = Math.ceil(distanceResult.getValue()/speed.getValue());
-        return Result.success(timeToLocation);
+        return DoubleResult.success(timeToLocation);
     }
 
-    public UnitResult<Error> move(Location target) {
+    /**
+     * Освобождение публикуется всегда, даже если взятие ещё не отправлено: подписчики видят обе смены занятости.
+     */
+    private void raiseOrderReleased(Order order, StoragePlace storagePlace) {
+        raiseDomainEvent(new OrderReleasedDomainEvent(this, order.getId(), storagePlace.getId(), order.getVolume().getValue()));
+    }
+
+    /**
+     * Сдвигает курьера на один шаг к цели. Шаги подряд, сделанные до отправки событий (за один такт),
+     * дают одно событие {@link CourierMovedDomainEvent} от исходной точки до текущей; склеиваются только
+     * перемещения, идущие последними, поэтому порядок относительно других событий сохраняется.
+     */
+    public synchronized UnitResult<Error> move(Location target) {
         if (target == null) {
             return UnitResult.failure(GeneralErrors.valueIsRequired("target"));
         }
@@ -162,9 +366,30 @@ public final class Courier extends Aggregate<UUID> {
             return UnitResult.failure(locationCreateResult.getError());
         }
 
+        Location from = location;
         this.location = locationCreateResult.getValue();
+        raiseCourierMoved(from, location);
+        notifyStateChanged();
         return UnitResult.success();
     }
+
+    private void raiseCourierMoved(Location from, Location to) {
+        if (from.equals(to)) {
+            return;
+        }
+
+        int fromX = from.getX();
+        int fromY = from.getY();
+        int last = domainEvents.size() - 1;
+        if (last >= 0 && domainEvents.get(last) instanceof CourierMovedDomainEvent moved) {
+            domainEvents.remove(last);
+            fromX = moved.getFromX();
+            fromY = moved.getFromY();
+        }
+        if (fromX != to.getX() || fromY != to.getY()) {
+            raiseDomainEvent(new CourierMovedDomainEvent(this, fromX, fromY, to));
+        }
+    }
     
     public static class Errors {
         public static Error noSuitableStoragePlaces() {
@@ -172,13 +397,18 @@ public final class Courier extends Aggregate<UUID> {
                             "Нет подходящих мест хранения");
         }
 
+        /**
+         * @param uuids снимок идентификаторов хранимых заказов; текст из него собирается только при чтении сообщения
+         */
         public static Error noSuchOrderInStoragePlaces(List<UUID> uuids) {
-            String stringOfOrders = "Нет заказов";
-            if (!uuids.isEmpty()) {
-                stringOfOrders = "Хранятся заказы: " + String.join(", ", uuids.stream().map(u -> u.toString()).toList());
-            }
-            return Error.of("no.such.order.in.storagePlaces",
-                            "Нет такого заказа в местах хранения. " + stringOfOrders);
+            List<UUID> snapshot = List.copyOf(uuids);
+            return Error.lazy("no.such.order.in.storagePlaces", () -> {
+                String stringOfOrders = "Нет заказов";
+                if (!snapshot.isEmpty()) {
+                    stringOfOrders = "Хранятся заказы: " + String.join(", ", snapshot.stream().map(u -> u.toString()).toList());
+                }
+                return "Нет такого заказа в местах хранения. " + stringOfOrders;
+            });
         }
     }
 }
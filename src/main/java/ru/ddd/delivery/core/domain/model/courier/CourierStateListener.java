@@ -0,0 +1,12 @@
+package ru.ddd.delivery.core.domain.model.courier;
+
+/**
+ * Получает уведомление после каждого изменения позиции или мест хранения курьера.
+ * Используется производными представлениями парка, которые должны оставаться в согласии с агрегатом.
+ */
+@FunctionalInterface
+public interface CourierStateListener {
+
+    void courierStateChanged(Courier courier);
+
+}
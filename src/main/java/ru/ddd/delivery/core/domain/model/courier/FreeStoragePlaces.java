@@ -0,0 +1,127 @@
+package ru.ddd.delivery.core.domain.model.courier;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Доступный объём мест хранения курьера. Места упорядочены по доступному объёму (для best-fit и worst-fit)
+ * и разложены в дерево отрезков максимумов по порядку добавления (для first-fit),
+ * поэтому любой выбор места - O(log n), а наибольший доступный объём - O(1).
+ * Не потокобезопасно: изменяется только под блокировкой курьера.
+ */
+final class FreeStoragePlaces {
+
+    private final TreeMap<Integer, ArrayDeque<StoragePlace>> byVolume = new TreeMap<>();
+    private final Map<StoragePlace, Integer> positions = new IdentityHashMap<>();
+
+    private StoragePlace[] places = new StoragePlace[1];
+    // Листья - доступный объём места по его позиции (0 - места нет), внутренние узлы - максимум поддерева
+    private int[] tree = new int[2];
+    private int leaves = 1;
+    private int count;
+
+    private volatile int maxFreeVolume;
+
+    FreeStoragePlaces(Iterable<StoragePlace> storagePlaces) {
+        for (StoragePlace storagePlace : storagePlaces) {
+            append(storagePlace);
+        }
+    }
+
+    int maxFreeVolume() {
+        return maxFreeVolume;
+    }
+
+    /**
+     * Регистрирует новое место хранения курьера.
+     */
+    void append(StoragePlace storagePlace) {
+        if (count == leaves) {
+            grow();
+        }
+        positions.put(storagePlace, count);
+        places[count] = storagePlace;
+        count++;
+        refresh(storagePlace);
+    }
+
+    /**
+     * Перечитывает доступный объём места после store или clear.
+     *
+     * @return false, если доступный объём не изменился
+     */
+    boolean refresh(StoragePlace storagePlace) {
+        int position = positions.get(storagePlace);
+        int indexed = tree[position + leaves];
+        int available = storagePlace.getAvailableVolume();
+        if (indexed == available) {
+            return false;
+        }
+
+        if (indexed > 0) {
+            ArrayDeque<StoragePlace> sameVolume = byVolume.get(indexed);
+            if (sameVolume != null && sameVolume.remove(storagePlace) && sameVolume.isEmpty()) {
+                byVolume.remove(indexed);
+            }
+        }
+        if (available > 0) {
+            byVolume.computeIfAbsent(available, v -> new ArrayDeque<>()).addLast(storagePlace);
+        }
+        setLeaf(position, available);
+        return true;
+    }
+
+    /**
+     * Первое по порядку добавления место, вмещающее объём, или null.
+     */
+    StoragePlace firstFit(int volume) {
+        if (tree[1] < volume) {
+            return null;
+        }
+        int node = 1;
+        while (node < leaves) {
+            node = tree[2 * node] >= volume ? 2 * node : 2 * node + 1;
+        }
+        return places[node - leaves];
+    }
+
+    /**
+     * Место с наименьшим доступным объёмом, вмещающим заказ, или null. Среди равных - проиндексированное раньше.
+     */
+    StoragePlace bestFit(int volume) {
+        Map.Entry<Integer, ArrayDeque<StoragePlace>> entry = byVolume.ceilingEntry(volume);
+        return entry == null ? null : entry.getValue().peekFirst();
+    }
+
+    /**
+     * Место с наибольшим доступным объёмом, если оно вмещает заказ, иначе null. Среди равных - проиндексированное раньше.
+     */
+    StoragePlace worstFit(int volume) {
+        Map.Entry<Integer, ArrayDeque<StoragePlace>> entry = byVolume.lastEntry();
+        return entry == null || entry.getKey() < volume ? null : entry.getValue().peekFirst();
+    }
+
+    private void setLeaf(int position, int volume) {
+        int node = position + leaves;
+        tree[node] = volume;
+        for (node >>>= 1; node > 0; node >>>= 1) {
+            tree[node] = Math.max(tree[2 * node], tree[2 * node + 1]);
+        }
+        maxFreeVolume = tree[1];
+    }
+
+    private void grow() {
+        int newLeaves = Math.max(1, count) * 2;
+        int[] newTree = new int[2 * newLeaves];
+        System.arraycopy(tree, leaves, newTree, newLeaves, count);
+        for (int node = newLeaves - 1; node > 0; node--) {
+            newTree[node] = Math.max(newTree[2 * node], newTree[2 * node + 1]);
+        }
+        places = Arrays.copyOf(places, newLeaves);
+        tree = newTree;
+        leaves = newLeaves;
+    }
+}
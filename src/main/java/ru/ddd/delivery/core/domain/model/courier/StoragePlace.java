@@ -1,5 +1,7 @@
 package ru.ddd.delivery.core.domain.model.courier;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -8,68 +10,156 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import ru.ddd.delivery.core.domain.model.Volume;
 import ru.ddd.libs.ddd.BaseEntity;
+import ru.ddd.libs.ddd.Ids;
 import ru.ddd.libs.errs.Error;
 import ru.ddd.libs.errs.Except;
 import ru.ddd.libs.errs.Result;
 import ru.ddd.libs.errs.UnitResult;
 
+/**
+ * Место хранения курьера. Обычное место хранит один заказ; общее место ({@link #createShared}) хранит
+ * несколько заказов, пока их суммарный объём не превышает объёма места.
+ * <p>
+ * Монитор места охраняет его заказы и изменения оставшегося объёма; сам оставшийся объём volatile и читается
+ * без блокировки. Курьер меняет место, удерживая свой монитор, поэтому блокировки берутся в порядке курьер, затем место.
+ */
 @NoArgsConstructor(force = true, access = AccessLevel.PRIVATE)
 public final class StoragePlace extends BaseEntity<UUID> {
 
+    private static final Result<Boolean, Error> CAN_STORE = Result.success(true);
+    private static final Result<Boolean, Error> CANNOT_STORE = Result.success(false);
+
     @Getter
     private final String name;
 
     @Getter
     private Volume totalVolume;
 
-    private UUID orderId;
+    @Getter
+    private final boolean shared;
+
+    // Изменяется под блокировкой места, читается без неё
+    private volatile int remainingVolume;
 
-    private StoragePlace(String name, Volume volume) {
-        super(UUID.randomUUID());
+    private final StoredOrders orders = new StoredOrders();
+
+    private StoragePlace(String name, Volume volume, boolean shared) {
+        this(Ids.next(), name, volume, shared);
+    }
+
+    private StoragePlace(UUID id, String name, Volume volume, boolean shared) {
+        super(id);
         this.name = name;
         this.totalVolume = volume;
+        this.shared = shared;
+        this.remainingVolume = volume.getValue();
     }
 
     public static Result<StoragePlace, Error> create(String name, Volume volume) {
         Except.againstNull(name, "name");
         Except.againstNull(volume, "volume");
 
-        var storagePlace = new StoragePlace(name, volume);
+        var storagePlace = new StoragePlace(name, volume, false);
         return Result.success(storagePlace);
     }
 
+    public static Result<StoragePlace, Error> createShared(String name, Volume volume) {
+        Except.againstNull(name, "name");
+        Except.againstNull(volume, "volume");
+
+        var storagePlace = new StoragePlace(name, volume, true);
+        return Result.success(storagePlace);
+    }
+
+    /**
+     * Восстанавливает место хранения из хранилища.
+     *
+     * @param orderVolumes объёмы лежащих в месте заказов по их идентификаторам
+     */
+    public static StoragePlace restore(UUID id, String name, Volume volume, boolean shared, Map<UUID, Integer> orderVolumes) {
+        Except.againstNull(id, "id");
+        Except.againstNull(name, "name");
+        Except.againstNull(volume, "volume");
+        Except.againstNull(orderVolumes, "orderVolumes");
+
+        var storagePlace = new StoragePlace(id, name, volume, shared);
+        orderVolumes.forEach((orderId, orderVolume) -> {
+            storagePlace.orders.add(orderId, orderVolume);
+            storagePlace.remainingVolume -= orderVolume;
+        });
+        return storagePlace;
+    }
+
     public Result<Boolean, Error> canStore(Volume volume) {
         Except.againstNull(volume, "volume");
 
-        boolean canStore = (null == orderId) && (volume.getValue() <= totalVolume.getValue());
-        return Result.success(canStore);
+        return volume.getValue() <= getAvailableVolume() ? CAN_STORE : CANNOT_STORE;
     }
 
-    public UnitResult<Error> store(UUID orderId, Volume volume) {
+    /**
+     * Наибольший объём заказа, который можно положить сейчас: для общего места - остаток объёма,
+     * для обычного - весь объём, если место пусто, иначе 0.
+     */
+    public int getAvailableVolume() {
+        int remaining = remainingVolume;
+        if (shared) {
+            return remaining;
+        }
+        int total = totalVolume.getValue();
+        return remaining == total ? total : 0;
+    }
+
+    public int getRemainingVolume() {
+        return remainingVolume;
+    }
+
+    public synchronized UnitResult<Error> store(UUID orderId, Volume volume) {
         Except.againstNull(orderId, "orderId");
         Except.againstNull(volume, "volume");
-        
-        if (this.orderId != null) return UnitResult.failure(Errors.storagePlaceIsOccupied());
-        if (volume.getValue() > totalVolume.getValue()) return UnitResult.failure(Errors.storagePlaceVolumeIsExceeded(totalVolume.getValue()));
 
-        this.orderId = orderId;
+        if (!shared && orders.size() > 0) return UnitResult.failure(Errors.storagePlaceIsOccupied());
+        if (volume.getValue() > remainingVolume) return UnitResult.failure(Errors.storagePlaceVolumeIsExceeded(totalVolume.getValue()));
+        if (!orders.add(orderId, volume.getValue())) return UnitResult.failure(Errors.orderIsAlreadyStored(orderId));
+
+        remainingVolume -= volume.getValue();
         return UnitResult.success();
     }
 
-    public UnitResult<Error> clear(UUID orderid) {
+    public synchronized UnitResult<Error> clear(UUID orderId) {
         Except.againstNull(orderId, "orderId");
-        if (this.orderId != orderid) return UnitResult.failure(Errors.orderIdIsWrong(this.orderId));
-        
-        this.orderId = null;
+
+        int volume = orders.remove(orderId);
+        if (volume < 0) return UnitResult.failure(Errors.orderIdIsWrong(orders.any()));
+
+        remainingVolume += volume;
         return UnitResult.success();
     }
 
     public boolean isOccupied() {
-        return orderId != null;
+        return remainingVolume != totalVolume.getValue();
+    }
+
+    public synchronized boolean contains(UUID orderId) {
+        Except.againstNull(orderId, "orderId");
+        return orders.contains(orderId);
+    }
+
+    /**
+     * Заказ обычного места; для общего места - один из хранимых заказов.
+     */
+    public synchronized Optional<UUID> getOrderId() {
+        return Optional.ofNullable(orders.any());
     }
 
-    public Optional<UUID> getOrderId() {
-        return Optional.ofNullable(orderId);
+    public synchronized List<UUID> getOrderIds() {
+        return orders.toList();
+    }
+
+    /**
+     * Объёмы лежащих в месте заказов по их идентификаторам.
+     */
+    public synchronized Map<UUID, Integer> getOrderVolumes() {
+        return orders.toMap();
     }
 
     public static class Errors {
@@ -87,5 +177,10 @@ public final class StoragePlace extends BaseEntity<UUID> {
             return Error.of("orderId.is.wrong",
                             "Неверный orderId. Хранимый orderId: " + orderId);
         }
+
+        public static Error orderIsAlreadyStored(UUID orderId) {
+            return Error.of("order.is.already.stored",
+                            "Заказ " + orderId + " уже лежит в месте хранения");
+        }
     }
 }
@@ -0,0 +1,36 @@
+package ru.ddd.delivery.core.domain.model.courier;
+
+/**
+ * Стратегия выбора свободного места хранения под заказ.
+ */
+public enum StoragePlaceAllocation {
+    /**
+     * Первое подходящее место в порядке добавления.
+     */
+    FIRST_FIT {
+        @Override
+        StoragePlace select(FreeStoragePlaces free, int volume) {
+            return free.firstFit(volume);
+        }
+    },
+    /**
+     * Наименьшее подходящее место: большие места остаются для больших заказов.
+     */
+    BEST_FIT {
+        @Override
+        StoragePlace select(FreeStoragePlaces free, int volume) {
+            return free.bestFit(volume);
+        }
+    },
+    /**
+     * Наибольшее свободное место: в остальных местах остаётся запас под заказы среднего объёма.
+     */
+    WORST_FIT {
+        @Override
+        StoragePlace select(FreeStoragePlaces free, int volume) {
+            return free.worstFit(volume);
+        }
+    };
+
+    abstract StoragePlace select(FreeStoragePlaces free, int volume);
+}
@@ -0,0 +1,150 @@
+package ru.ddd.delivery.core.domain.model.courier;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Компактное множество заказов места хранения: идентификаторы лежат парами long в примитивных массивах
+ * с открытой адресацией, рядом хранится объём каждого заказа. Проверка, добавление и удаление - O(1).
+ * Не потокобезопасно: изменяется только под блокировкой места хранения.
+ */
+final class StoredOrders {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] mostSignificantBits = new long[INITIAL_CAPACITY];
+    private long[] leastSignificantBits = new long[INITIAL_CAPACITY];
+    private int[] volumes = new int[INITIAL_CAPACITY];
+    private boolean[] used = new boolean[INITIAL_CAPACITY];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(UUID orderId) {
+        return indexOf(orderId.getMostSignificantBits(), orderId.getLeastSignificantBits()) >= 0;
+    }
+
+    /**
+     * @return false, если заказ уже есть
+     */
+    boolean add(UUID orderId, int volume) {
+        long msb = orderId.getMostSignificantBits();
+        long lsb = orderId.getLeastSignificantBits();
+        if (indexOf(msb, lsb) >= 0) {
+            return false;
+        }
+        if (2 * (size + 1) > used.length) {
+            resize(used.length * 2);
+        }
+        insert(msb, lsb, volume);
+        size++;
+        return true;
+    }
+
+    /**
+     * @return объём удалённого заказа или -1, если заказа нет
+     */
+    int remove(UUID orderId) {
+        int index = indexOf(orderId.getMostSignificantBits(), orderId.getLeastSignificantBits());
+        if (index < 0) {
+            return -1;
+        }
+        int volume = volumes[index];
+        used[index] = false;
+        size--;
+
+        // Обратный сдвиг: следующие элементы кластера переносятся, чтобы поиск не останавливался на дыре
+        int mask = used.length - 1;
+        int hole = index;
+        for (int i = (index + 1) & mask; used[i]; i = (i + 1) & mask) {
+            int home = slot(mostSignificantBits[i], leastSignificantBits[i]);
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                mostSignificantBits[hole] = mostSignificantBits[i];
+                leastSignificantBits[hole] = leastSignificantBits[i];
+                volumes[hole] = volumes[i];
+                used[hole] = true;
+                used[i] = false;
+                hole = i;
+            }
+        }
+        return volume;
+    }
+
+    UUID any() {
+        for (int i = 0; i < used.length; i++) {
+            if (used[i]) {
+                return new UUID(mostSignificantBits[i], leastSignificantBits[i]);
+            }
+        }
+        return null;
+    }
+
+    List<UUID> toList() {
+        List<UUID> orderIds = new ArrayList<>(size);
+        for (int i = 0; i < used.length; i++) {
+            if (used[i]) {
+                orderIds.add(new UUID(mostSignificantBits[i], leastSignificantBits[i]));
+            }
+        }
+        return orderIds;
+    }
+
+    Map<UUID, Integer> toMap() {
+        Map<UUID, Integer> orderVolumes = new HashMap<>();
+        for (int i = 0; i < used.length; i++) {
+            if (used[i]) {
+                orderVolumes.put(new UUID(mostSignificantBits[i], leastSignificantBits[i]), volumes[i]);
+            }
+        }
+        return orderVolumes;
+    }
+
+    private int indexOf(long msb, long lsb) {
+        int mask = used.length - 1;
+        for (int i = slot(msb, lsb); used[i]; i = (i + 1) & mask) {
+            if (mostSignificantBits[i] == msb && leastSignificantBits[i] == lsb) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(long msb, long lsb, int volume) {
+        int mask = used.length - 1;
+        int i = slot(msb, lsb);
+        while (used[i]) {
+            i = (i + 1) & mask;
+        }
+        mostSignificantBits[i] = msb;
+        leastSignificantBits[i] = lsb;
+        volumes[i] = volume;
+        used[i] = true;
+    }
+
+    private int slot(long msb, long lsb) {
+        long hash = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & (used.length - 1);
+    }
+
+    private void resize(int capacity) {
+        long[] oldMsb = mostSignificantBits;
+        long[] oldLsb = leastSignificantBits;
+        int[] oldVolumes = volumes;
+        boolean[] oldUsed = used;
+
+        mostSignificantBits = new long[capacity];
+        leastSignificantBits = new long[capacity];
+        volumes = new int[capacity];
+        used = new boolean[capacity];
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                insert(oldMsb[i], oldLsb[i], oldVolumes[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ru.ddd.delivery.core.domain.model.courier.events;
+
+import java.util.UUID;
+
+import lombok.Getter;
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.libs.ddd.DomainEvent;
+
+/**
+ * Курьер переместился. Перемещения, накопленные до отправки событий, сливаются в одно:
+ * from - точка до первого шага, to - после последнего.
+ */
+@Getter
+public final class CourierMovedDomainEvent extends DomainEvent {
+    private UUID courierId;
+    private int fromX;
+    private int fromY;
+    private int toX;
+    private int toY;
+
+    public CourierMovedDomainEvent(Courier courier, Location from, Location to) {
+        this(courier, from.getX(), from.getY(), to);
+    }
+
+    public CourierMovedDomainEvent(Courier courier, int fromX, int fromY, Location to) {
+        super(courier);
+        this.courierId = courier.getId();
+        this.fromX = fromX;
+        this.fromY = fromY;
+        this.toX = to.getX();
+        this.toY = to.getY();
+    }
+
+    // Fake Ctr for Jackson
+    private CourierMovedDomainEvent() {
+    }
+}
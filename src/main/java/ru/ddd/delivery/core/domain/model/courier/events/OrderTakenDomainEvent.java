@@ -0,0 +1,30 @@
+package ru.ddd.delivery.core.domain.model.courier.events;
+
+import java.util.UUID;
+
+import lombok.Getter;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.libs.ddd.DomainEvent;
+
+/**
+ * Курьер положил заказ в место хранения.
+ */
+@Getter
+public final class OrderTakenDomainEvent extends DomainEvent {
+    private UUID courierId;
+    private UUID orderId;
+    private UUID storagePlaceId;
+    private int volume;
+
+    public OrderTakenDomainEvent(Courier courier, UUID orderId, UUID storagePlaceId, int volume) {
+        super(courier);
+        this.courierId = courier.getId();
+        this.orderId = orderId;
+        this.storagePlaceId = storagePlaceId;
+        this.volume = volume;
+    }
+
+    // Fake Ctr for Jackson
+    private OrderTakenDomainEvent() {
+    }
+}
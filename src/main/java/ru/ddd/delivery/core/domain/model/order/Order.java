@@ -8,6 +8,8 @@ import lombok.NoArgsConstructor;
 import ru.ddd.delivery.core.domain.model.Location;
 import ru.ddd.delivery.core.domain.model.Volume;
 import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.order.events.OrderAssignedDomainEvent;
+import ru.ddd.delivery.core.domain.model.order.events.OrderCompletedDomainEvent;
 import ru.ddd.libs.ddd.Aggregate;
 import ru.ddd.libs.errs.Error;
 import ru.ddd.libs.errs.Except;
@@ -24,10 +26,10 @@ public final class Order extends Aggregate<UUID> {
     private final Volume volume;
 
     @Getter
-    private OrderStatus status;
+    private volatile OrderStatus status;
 
     @Getter
-    private UUID courierId;
+    private volatile UUID courierId;
 
     private Order(UUID orderId, Location location, Volume volume) {
         super(orderId);
@@ -45,7 +47,22 @@ public final class Order extends Aggregate<UUID> {
         return Result.success(order);
     }
 
-    public UnitResult<Error> assign(Courier courier) {
+    /**
+     * Восстанавливает заказ из хранилища.
+     */
+    public static Order restore(UUID orderId, Location location, Volume volume, OrderStatus status, UUID courierId) {
+        Except.againstNull(orderId, "orderId");
+        Except.againstNull(location, "location");
+        Except.againstNull(volume, "volume");
+        Except.againstNull(status, "status");
+
+        var order = new Order(orderId, location, volume);
+        order.status = status;
+        order.courierId = courierId;
+        return order;
+    }
+
+    public synchronized UnitResult<Error> assign(Courier courier) {
         Except.againstNull(courier, "courier");
         
         if (status != OrderStatus.CREATED) {
@@ -55,15 +72,17 @@ public final class Order extends Aggregate<UUID> {
         status = OrderStatus.ASSIGNED;
 
         courierId = courier.getId();
+        raiseDomainEvent(new OrderAssignedDomainEvent(this));
         return UnitResult.success();
     }
 
-    public UnitResult<Error> complete() {
+    public synchronized UnitResult<Error> complete() {
         if (status != OrderStatus.ASSIGNED) {
             return UnitResult.failure(Errors.orderWasNotAssigned());
         }
         
         status = OrderStatus.COMPLETED;
+        raiseDomainEvent(new OrderCompletedDomainEvent(this));
         return UnitResult.success();
     }
 
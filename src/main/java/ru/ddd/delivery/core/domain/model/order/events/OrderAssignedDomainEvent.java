@@ -0,0 +1,26 @@
+package ru.ddd.delivery.core.domain.model.order.events;
+
+import java.util.UUID;
+
+import lombok.Getter;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.libs.ddd.DomainEvent;
+
+/**
+ * Заказ назначен курьеру.
+ */
+@Getter
+public final class OrderAssignedDomainEvent extends DomainEvent {
+    private UUID orderId;
+    private UUID courierId;
+
+    public OrderAssignedDomainEvent(Order order) {
+        super(order);
+        this.orderId = order.getId();
+        this.courierId = order.getCourierId();
+    }
+
+    // Fake Ctr for Jackson
+    private OrderAssignedDomainEvent() {
+    }
+}
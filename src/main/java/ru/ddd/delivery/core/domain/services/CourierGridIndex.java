@@ -0,0 +1,248 @@
+package ru.ddd.delivery.core.domain.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.courier.CourierStateListener;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.libs.errs.Error;
+import ru.ddd.libs.errs.Except;
+import ru.ddd.libs.errs.UnitResult;
+
+/**
+ * Пространственный индекс курьеров: сетка ячеек cellSize x cellSize над полем width x height.
+ * Поиск идёт расширяющимися манхэттенскими кольцами ячеек от точки заказа и останавливается,
+ * как только нижняя оценка времени в следующем кольце хуже найденного.
+ * При равном времени выигрывает курьер, добавленный в индекс раньше.
+ * <p>
+ * Индекс подписан на курьеров и сам переносит их между ячейками после {@link Courier#move(Location)}.
+ * Потокобезопасно: изменения и поиск сериализуются на индексе, поиск не меняет записей.
+ */
+public final class CourierGridIndex implements CourierStateListener {
+
+    private final int width;
+    private final int height;
+    private final int cellSize;
+    private final int columns;
+    private final int rows;
+
+    private final List<List<Entry>> cells;
+    private final Map<UUID, Entry> entries = new HashMap<>();
+
+    private long nextSequence;
+    private int maxSpeed;
+
+    public CourierGridIndex() {
+        this(Location.MAX_VALUE.getX(), Location.MAX_VALUE.getY(), 1);
+    }
+
+    public CourierGridIndex(int width, int height, int cellSize) {
+        this.width = Except.againstZeroOrNegative(width, "width");
+        this.height = Except.againstZeroOrNegative(height, "height");
+        this.cellSize = Except.againstZeroOrNegative(cellSize, "cellSize");
+        this.columns = (width + cellSize - 1) / cellSize;
+        this.rows = (height + cellSize - 1) / cellSize;
+
+        this.cells = new ArrayList<>(columns * rows);
+        for (int i = 0; i < columns * rows; i++) {
+            cells.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Подписка оформляется до чтения позиции, поэтому перемещение между ними не теряется.
+     * Курьер уведомляет индекс под своей блокировкой, так что блокировка индекса всегда берётся второй:
+     * ленивые сводки курьера строятся здесь, до неё, а не при поиске.
+     */
+    public void add(Courier courier) {
+        Except.againstNull(courier, "courier");
+        courier.getMaxFreeVolume();
+        courier.addStateListener(this);
+        synchronized (this) {
+            if (entries.containsKey(courier.getId())) {
+                update(courier);
+                return;
+            }
+
+            var entry = new Entry(courier, nextSequence++, cellOf(courier.getLocation()));
+            entries.put(courier.getId(), entry);
+            cells.get(entry.cell).add(entry);
+            maxSpeed = Math.max(maxSpeed, courier.getSpeed().getValue());
+        }
+    }
+
+    public void addAll(List<Courier> couriers) {
+        Except.againstNull(couriers, "couriers");
+        couriers.forEach(this::add);
+    }
+
+    public synchronized void remove(Courier courier) {
+        Except.againstNull(courier, "courier");
+        courier.removeStateListener(this);
+        var entry = entries.remove(courier.getId());
+        if (entry == null) {
+            return;
+        }
+        cells.get(entry.cell).remove(entry);
+        if (entry.courier.getSpeed().getValue() == maxSpeed) {
+            maxSpeed = 0;
+            for (Entry remaining : entries.values()) {
+                maxSpeed = Math.max(maxSpeed, remaining.courier.getSpeed().getValue());
+            }
+        }
+    }
+
+    @Override
+    public void courierStateChanged(Courier courier) {
+        update(courier);
+    }
+
+    /**
+     * Переносит курьера в ячейку его текущей позиции. Вызывается по уведомлению курьера;
+     * вручную нужен, только если курьер изменился, пока не был подписан.
+     */
+    public synchronized void update(Courier courier) {
+        Except.againstNull(courier, "courier");
+        var entry = entries.get(courier.getId());
+        if (entry == null) {
+            return;
+        }
+
+        int cell = cellOf(courier.getLocation());
+        if (cell != entry.cell) {
+            cells.get(entry.cell).remove(entry);
+            entry.cell = cell;
+            cells.get(cell).add(entry);
+        }
+    }
+
+    /**
+     * Перемещает курьера; индекс обновится по уведомлению курьера.
+     */
+    public UnitResult<Error> move(Courier courier, Location target) {
+        Except.againstNull(courier, "courier");
+        return courier.move(target);
+    }
+
+    public synchronized boolean contains(Courier courier) {
+        return courier != null && entries.containsKey(courier.getId());
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Ищет самого быстрого курьера, способного взять заказ.
+     * Время считается так же, как в {@link Courier#calculateTimeToLocation(Location)}.
+     */
+    public synchronized Optional<Courier> findFastest(Order order) {
+        Except.againstNull(order, "order");
+        if (entries.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Location target = order.getLocation();
+        int targetColumn = columnOf(target.getX());
+        int targetRow = rowOf(target.getY());
+        int maxRing = Math.max(targetColumn, columns - 1 - targetColumn) + Math.max(targetRow, rows - 1 - targetRow);
+
+        var best = new Best();
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if (best.entry != null && lowerBoundDistance(ring) / maxSpeed > best.time) {
+                break;
+            }
+
+            for (int dx = -ring; dx <= ring; dx++) {
+                int column = targetColumn + dx;
+                if (column < 0 || column >= columns) {
+                    continue;
+                }
+
+                int dy = ring - Math.abs(dx);
+                scanCell(column, targetRow + dy, order, best);
+                if (dy != 0) {
+                    scanCell(column, targetRow - dy, order, best);
+                }
+            }
+        }
+
+        return best.entry == null ? Optional.empty() : Optional.of(best.entry.courier);
+    }
+
+    private void scanCell(int column, int row, Order order, Best best) {
+        if (row < 0 || row >= rows) {
+            return;
+        }
+
+        Location target = order.getLocation();
+        for (Entry entry : cells.get(row * columns + column)) {
+            int time = entry.timeTo(target);
+            if (best.entry != null && (time > best.time || (time == best.time && entry.sequence > best.entry.sequence))) {
+                continue;
+            }
+            if (entry.courier.getMaxFreeVolume() < order.getVolume().getValue()) {
+                continue;
+            }
+
+            best.entry = entry;
+            best.time = time;
+        }
+    }
+
+    /**
+     * Минимальное манхэттенское расстояние до любой точки ячейки, лежащей на кольце ring.
+     */
+    private int lowerBoundDistance(int ring) {
+        if (ring <= 1) {
+            return ring;
+        }
+        return (ring - 2) * cellSize + 2;
+    }
+
+    private int cellOf(Location location) {
+        return rowOf(location.getY()) * columns + columnOf(location.getX());
+    }
+
+    private int columnOf(int x) {
+        Except.againstOutOfRange(x, 1, width, "x");
+        return (x - 1) / cellSize;
+    }
+
+    private int rowOf(int y) {
+        Except.againstOutOfRange(y, 1, height, "y");
+        return (y - 1) / cellSize;
+    }
+
+    private static final class Entry {
+        private final Courier courier;
+        private final long sequence;
+        private int cell;
+
+        private Entry(Courier courier, long sequence, int cell) {
+            this.courier = courier;
+            this.sequence = sequence;
+            this.cell = cell;
+        }
+
+        private int timeTo(Location target) {
+            Location location = courier.getLocation();
+            int distance = Math.abs(location.getX() - target.getX()) + Math.abs(location.getY() - target.getY());
+            return distance / courier.getSpeed().getValue();
+        }
+    }
+
+    /**
+     * Лучший кандидат текущего поиска; у каждого поиска свой.
+     */
+    private static final class Best {
+        private Entry entry;
+        private int time = Integer.MAX_VALUE;
+    }
+}
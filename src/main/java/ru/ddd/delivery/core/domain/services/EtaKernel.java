@@ -0,0 +1,59 @@
+package ru.ddd.delivery.core.domain.services;
+
+import java.util.Optional;
+
+/**
+ * Расчёт времени до точки по колонкам парка: строка i - курьер с координатами x[i], y[i], скоростью speed[i]
+ * и наибольшим доступным местом maxFreeVolume[i]. Время считается как в
+ * {@link ru.ddd.delivery.core.domain.model.courier.Courier#calculateTimeToLocation}: manhattan-расстояние, делённое нацело на скорость.
+ * <p>
+ * Векторная реализация на jdk.incubator.vector собирается только в профиле vector (./mvnw -Pvector) из src/vector/java
+ * и загружается по имени класса. Включается флагом {@value #VECTOR_PROPERTY}=true и только если модуль подключён
+ * (--add-modules jdk.incubator.vector); иначе работает скалярная.
+ */
+interface EtaKernel {
+
+    String VECTOR_PROPERTY = "delivery.eta.vector";
+
+    /**
+     * Время для курьера, у которого нет места под заказ.
+     */
+    int NOT_ABLE = Integer.MAX_VALUE;
+
+    /**
+     * Записывает в etas[0, count) время каждого курьера до точки или {@link #NOT_ABLE}.
+     *
+     * @return сколько курьеров могут взять заказ
+     */
+    int etas(int count, int[] x, int[] y, int[] speed, int[] maxFreeVolume,
+             int targetX, int targetY, int volume, int[] etas);
+
+    /**
+     * Строка с наименьшим временем среди курьеров, способных взять заказ; при равенстве - меньшая строка; -1, если таких нет.
+     */
+    int argmin(int count, int[] x, int[] y, int[] speed, int[] maxFreeVolume,
+               int targetX, int targetY, int volume);
+
+    static EtaKernel select() {
+        if (Boolean.getBoolean(VECTOR_PROPERTY)) {
+            return vector().orElse(ScalarEtaKernel.INSTANCE);
+        }
+        return ScalarEtaKernel.INSTANCE;
+    }
+
+    /**
+     * Векторная реализация, если она собрана и модуль jdk.incubator.vector подключён.
+     */
+    static Optional<EtaKernel> vector() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of((EtaKernel) Class.forName(EtaKernel.class.getPackageName() + ".VectorEtaKernel")
+                    .getDeclaredConstructor()
+                    .newInstance());
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package ru.ddd.delivery.core.domain.services;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.courier.CourierStateListener;
+import ru.ddd.delivery.core.domain.model.courier.StoragePlace;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.libs.errs.Except;
+
+/**
+ * Колоночное представление парка: x, y, скорость, наибольший доступный объём и битовая маска занятых мест
+ * хранятся в параллельных примитивных массивах, поэтому проверка допустимости и расчёт времени идут
+ * по плотной памяти без обхода объектов курьеров.
+ * Источником истины остаётся агрегат Courier: хранилище подписывается на его изменения и перечитывает строку.
+ * Запись и чтение синхронизированы на хранилище: рост массивов и перенос последней строки при удалении
+ * не видны поиску наполовину. Курьер уведомляет хранилище под своей блокировкой, а под блокировкой хранилища
+ * поиск методов курьера не вызывает, так что порядок блокировок один.
+ * Номер строки действителен только до следующего изменения состава парка; курьера для заказа
+ * атомарно возвращает {@link #findFastestCourier(Order)}.
+ */
+public final class FleetStore implements CourierStateListener {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Map<UUID, Integer> rows = new HashMap<>();
+
+    private Courier[] couriers = new Courier[INITIAL_CAPACITY];
+    private int[] x = new int[INITIAL_CAPACITY];
+    private int[] y = new int[INITIAL_CAPACITY];
+    private int[] speed = new int[INITIAL_CAPACITY];
+    private int[] maxFreeVolume = new int[INITIAL_CAPACITY];
+    private long[] occupancy = new long[INITIAL_CAPACITY];
+    private volatile int size;
+
+    private final EtaKernel kernel;
+
+    public FleetStore() {
+        this(EtaKernel.select());
+    }
+
+    FleetStore(EtaKernel kernel) {
+        this.kernel = kernel;
+    }
+
+    public synchronized void add(Courier courier) {
+        Except.againstNull(courier, "courier");
+        if (rows.containsKey(courier.getId())) {
+            return;
+        }
+
+        if (size == couriers.length) {
+            grow();
+        }
+        // Подписка раньше чтения состояния: изменение между ними придёт уведомлением и перечитает строку
+        courier.addStateListener(this);
+        int row = size;
+        couriers[row] = courier;
+        rows.put(courier.getId(), row);
+        sync(row, courier);
+        size = row + 1;
+    }
+
+    public void addAll(List<Courier> couriers) {
+        Except.againstNull(couriers, "couriers");
+        couriers.forEach(this::add);
+    }
+
+    public synchronized void remove(Courier courier) {
+        Except.againstNull(courier, "courier");
+        Integer row = rows.remove(courier.getId());
+        if (row == null) {
+            return;
+        }
+        courier.removeStateListener(this);
+
+        int last = size - 1;
+        if (row != last) {
+            couriers[row] = couriers[last];
+            x[row] = x[last];
+            y[row] = y[last];
+            speed[row] = speed[last];
+            maxFreeVolume[row] = maxFreeVolume[last];
+            occupancy[row] = occupancy[last];
+            rows.put(couriers[row].getId(), row);
+        }
+        couriers[last] = null;
+        size = last;
+    }
+
+    @Override
+    public synchronized void courierStateChanged(Courier courier) {
+        Integer row = rows.get(courier.getId());
+        if (row != null) {
+            sync(row, courier);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public synchronized Courier courier(int row) {
+        return couriers[row];
+    }
+
+    public synchronized int maxFreeVolume(int row) {
+        return maxFreeVolume[row];
+    }
+
+    /**
+     * Битовая маска мест, в которых лежит хотя бы один заказ: бит i соответствует i-му месту хранения
+     * (учитываются первые 64 места).
+     */
+    public synchronized long occupancy(int row) {
+        return occupancy[row];
+    }
+
+    /**
+     * Строка самого быстрого курьера, способного взять заказ, или -1.
+     * Время считается так же, как в {@link Courier#calculateTimeToLocation(Location)}; при равенстве побеждает меньшая строка.
+     * Под флагом {@value EtaKernel#VECTOR_PROPERTY} проход идёт SIMD-инструкциями.
+     */
+    public synchronized int findFastest(Order order) {
+        Except.againstNull(order, "order");
+
+        return kernel.argmin(size, x, y, speed, maxFreeVolume,
+                order.getLocation().getX(), order.getLocation().getY(), order.getVolume().getValue());
+    }
+
+    /**
+     * Самый быстрый курьер, способный взять заказ; строка разрешается в курьера под той же блокировкой.
+     */
+    public synchronized Optional<Courier> findFastestCourier(Order order) {
+        int row = findFastest(order);
+        return row < 0 ? Optional.empty() : Optional.of(couriers[row]);
+    }
+
+    /**
+     * Время каждого курьера до заказа по строкам [0, size()); для курьеров без подходящего места - Integer.MAX_VALUE.
+     *
+     * @param etas массив длиной не меньше size()
+     * @return сколько курьеров могут взять заказ
+     */
+    public synchronized int etas(Order order, int[] etas) {
+        Except.againstNull(order, "order");
+        Except.againstNull(etas, "etas");
+
+        int count = size;
+        if (etas.length < count) {
+            throw new IllegalArgumentException("etas must have at least " + count + " elements");
+        }
+
+        return kernel.etas(count, x, y, speed, maxFreeVolume,
+                order.getLocation().getX(), order.getLocation().getY(), order.getVolume().getValue(), etas);
+    }
+
+    private void sync(int row, Courier courier) {
+        x[row] = courier.getLocation().getX();
+        y[row] = courier.getLocation().getY();
+        speed[row] = courier.getSpeed().getValue();
+
+        int maxFree = 0;
+        long occupied = 0L;
+        List<StoragePlace> storagePlaces = courier.getStoragePlaces();
+        for (int i = 0; i < storagePlaces.size(); i++) {
+            StoragePlace storagePlace = storagePlaces.get(i);
+            if (storagePlace.isOccupied() && i < Long.SIZE) {
+                occupied |= 1L << i;
+            }
+            maxFree = Math.max(maxFree, storagePlace.getAvailableVolume());
+        }
+        maxFreeVolume[row] = maxFree;
+        occupancy[row] = occupied;
+    }
+
+    private void grow() {
+        int capacity = couriers.length * 2;
+        couriers = Arrays.copyOf(couriers, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        maxFreeVolume = Arrays.copyOf(maxFreeVolume, capacity);
+        occupancy = Arrays.copyOf(occupancy, capacity);
+    }
+}
@@ -0,0 +1,259 @@
+package ru.ddd.delivery.core.domain.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.courier.StoragePlace;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.delivery.core.domain.model.order.OrderStatus;
+import ru.ddd.delivery.core.ports.DeliveryMetrics;
+import ru.ddd.libs.errs.Error;
+import ru.ddd.libs.errs.Except;
+import ru.ddd.libs.errs.Result;
+
+/**
+ * Пакетное распределение как задача о назначениях минимальной стоимости (венгерский алгоритм).
+ * Каждое место хранения с доступным объёмом - отдельный слот, стоимость пары заказ/слот - время курьера до заказа,
+ * слот меньше объёма заказа недопустим. Матрица стоимостей не хранится, а считается из примитивных массивов.
+ * Если бюджет времени исчерпан, оставшиеся заказы распределяются жадно.
+ */
+public class OptimalOrderDispatcher implements OrderDispatcher {
+
+    public static final Duration DEFAULT_TIME_BUDGET = Duration.ofMillis(200);
+
+    private static final long INFEASIBLE = 1L << 40;
+    private static final long INFINITY = Long.MAX_VALUE / 4;
+
+    private final OrderDispatcherImpl greedyDispatcher;
+    private final long timeBudgetNanos;
+
+    public OptimalOrderDispatcher() {
+        this(DEFAULT_TIME_BUDGET);
+    }
+
+    public OptimalOrderDispatcher(Duration timeBudget) {
+        this(timeBudget, DeliveryMetrics.NOOP);
+    }
+
+    /**
+     * @param metrics метрики жадного распределения, которым обслуживаются одиночные заказы и остаток пакета
+     */
+    public OptimalOrderDispatcher(Duration timeBudget, DeliveryMetrics metrics) {
+        Except.againstNull(timeBudget, "timeBudget");
+        this.timeBudgetNanos = Except.againstNegative(timeBudget.toNanos(), "timeBudget");
+        this.greedyDispatcher = new OrderDispatcherImpl(Except.againstNull(metrics, "metrics"));
+    }
+
+    @Override
+    public Result<Courier, Error> dispatch(Order order, List<Courier> couriers) {
+        return greedyDispatcher.dispatch(order, couriers);
+    }
+
+    @Override
+    public Map<UUID, Result<Courier, Error>> dispatchAll(List<Order> orders, List<Courier> couriers) {
+        Except.againstNull(orders, "orders");
+        Except.againstNullOrEmpty(couriers, "couriers");
+        long deadline = System.nanoTime() + timeBudgetNanos;
+
+        Map<UUID, Result<Courier, Error>> results = new LinkedHashMap<>();
+        List<Order> pending = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            Except.againstNull(order, "order");
+            if (results.containsKey(order.getId())) {
+                throw new IllegalArgumentException("Duplicate order in batch: " + order.getId());
+            }
+            results.put(order.getId(), null);
+            if (order.getStatus() != OrderStatus.CREATED) {
+                results.put(order.getId(), Result.failure(Order.Errors.orderNotInCreatedStatus(order.getStatus())));
+            } else {
+                pending.add(order);
+            }
+        }
+
+        var problem = new AssignmentProblem(pending, couriers);
+        int[] slotOfOrder = problem.solve(deadline);
+
+        List<Integer> matched = new ArrayList<>();
+        List<Order> leftovers = new ArrayList<>();
+        for (int i = 0; i < pending.size(); i++) {
+            if (slotOfOrder[i] >= 0) {
+                matched.add(i);
+            } else {
+                leftovers.add(pending.get(i));
+            }
+        }
+
+        // Courier.takeOrder кладёт заказ в одно из подходящих мест. Если раскладывать заказы по убыванию объёма,
+        // любое подходящее место вмещает и все следующие заказы, поэтому раскладка всегда находит место,
+        // раз допустимое назначение на эти слоты существует. Исключение - общие места: заказ может занять
+        // часть чужого слота, и тогда оставшийся без места заказ распределяется жадно.
+        matched.sort(Comparator.comparingInt((Integer i) -> pending.get(i).getVolume().getValue()).reversed());
+        for (int i : matched) {
+            Order order = pending.get(i);
+            Courier courier = couriers.get(problem.slotCourier[slotOfOrder[i]]);
+            if (courier.getMaxFreeVolume() < order.getVolume().getValue()) {
+                leftovers.add(order);
+                continue;
+            }
+            results.put(order.getId(), greedyDispatcher.takeAndAssign(order, courier));
+        }
+
+        if (!leftovers.isEmpty()) {
+            results.putAll(greedyDispatcher.dispatchAll(leftovers, couriers));
+        }
+        return results;
+    }
+
+    /**
+     * Прямоугольная задача о назначениях: строки - заказы, столбцы - слоты, дополненные фиктивными
+     * до числа заказов. Потенциалы и пути хранятся в примитивных массивах, индексация с 1.
+     */
+    private static final class AssignmentProblem {
+        private final int rows;
+        private final int columns;
+        private final int slots;
+
+        private final int[] orderX;
+        private final int[] orderY;
+        private final int[] orderVolume;
+
+        private final int[] courierX;
+        private final int[] courierY;
+        private final int[] courierSpeed;
+
+        private final int[] slotCourier;
+        private final int[] slotVolume;
+
+        private AssignmentProblem(List<Order> orders, List<Courier> couriers) {
+            rows = orders.size();
+            orderX = new int[rows];
+            orderY = new int[rows];
+            orderVolume = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                Order order = orders.get(i);
+                orderX[i] = order.getLocation().getX();
+                orderY[i] = order.getLocation().getY();
+                orderVolume[i] = order.getVolume().getValue();
+            }
+
+            courierX = new int[couriers.size()];
+            courierY = new int[couriers.size()];
+            courierSpeed = new int[couriers.size()];
+            int[] courierOfSlot = new int[16];
+            int[] volumeOfSlot = new int[16];
+            int count = 0;
+            for (int c = 0; c < couriers.size(); c++) {
+                Courier courier = couriers.get(c);
+                courierX[c] = courier.getLocation().getX();
+                courierY[c] = courier.getLocation().getY();
+                courierSpeed[c] = courier.getSpeed().getValue();
+                for (StoragePlace storagePlace : courier.getStoragePlaces()) {
+                    int availableVolume = storagePlace.getAvailableVolume();
+                    if (availableVolume == 0) {
+                        continue;
+                    }
+                    if (count == courierOfSlot.length) {
+                        courierOfSlot = Arrays.copyOf(courierOfSlot, count * 2);
+                        volumeOfSlot = Arrays.copyOf(volumeOfSlot, count * 2);
+                    }
+                    courierOfSlot[count] = c;
+                    volumeOfSlot[count] = availableVolume;
+                    count++;
+                }
+            }
+            slots = count;
+            slotCourier = Arrays.copyOf(courierOfSlot, count);
+            slotVolume = Arrays.copyOf(volumeOfSlot, count);
+            columns = Math.max(slots, rows);
+        }
+
+        private long cost(int order, int slot) {
+            if (slot >= slots || slotVolume[slot] < orderVolume[order]) {
+                return INFEASIBLE;
+            }
+            int courier = slotCourier[slot];
+            int distance = Math.abs(courierX[courier] - orderX[order]) + Math.abs(courierY[courier] - orderY[order]);
+            return distance / courierSpeed[courier];
+        }
+
+        /**
+         * Возвращает слот для каждого заказа или -1, если заказ не распределён:
+         * назначение недопустимо либо до строки не дошли из-за бюджета времени.
+         */
+        private int[] solve(long deadline) {
+            int[] slotOfOrder = new int[rows];
+            Arrays.fill(slotOfOrder, -1);
+            if (rows == 0 || slots == 0) {
+                return slotOfOrder;
+            }
+
+            long[] u = new long[rows + 1];
+            long[] v = new long[columns + 1];
+            int[] p = new int[columns + 1];
+            int[] way = new int[columns + 1];
+            long[] minv = new long[columns + 1];
+            boolean[] used = new boolean[columns + 1];
+
+            for (int i = 1; i <= rows; i++) {
+                if (System.nanoTime() - deadline > 0) {
+                    break;
+                }
+
+                p[0] = i;
+                int j0 = 0;
+                Arrays.fill(minv, INFINITY);
+                Arrays.fill(used, false);
+                do {
+                    used[j0] = true;
+                    int i0 = p[j0];
+                    long delta = INFINITY;
+                    int j1 = 0;
+                    for (int j = 1; j <= columns; j++) {
+                        if (used[j]) {
+                            continue;
+                        }
+                        long current = cost(i0 - 1, j - 1) - u[i0] - v[j];
+                        if (current < minv[j]) {
+                            minv[j] = current;
+                            way[j] = j0;
+                        }
+                        if (minv[j] < delta) {
+                            delta = minv[j];
+                            j1 = j;
+                        }
+                    }
+                    for (int j = 0; j <= columns; j++) {
+                        if (used[j]) {
+                            u[p[j]] += delta;
+                            v[j] -= delta;
+                        } else {
+                            minv[j] -= delta;
+                        }
+                    }
+                    j0 = j1;
+                } while (p[j0] != 0);
+
+                do {
+                    int j1 = way[j0];
+                    p[j0] = p[j1];
+                    j0 = j1;
+                } while (j0 != 0);
+            }
+
+            for (int j = 1; j <= columns; j++) {
+                int i = p[j];
+                if (i != 0 && cost(i - 1, j - 1) < INFEASIBLE) {
+                    slotOfOrder[i - 1] = j - 1;
+                }
+            }
+            return slotOfOrder;
+        }
+    }
+}
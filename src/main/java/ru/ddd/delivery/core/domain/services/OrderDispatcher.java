@@ -1,6 +1,8 @@
 package ru.ddd.delivery.core.domain.services;
 
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import ru.ddd.delivery.core.domain.model.courier.Courier;
 import ru.ddd.delivery.core.domain.model.order.Order;
@@ -11,4 +13,12 @@ public interface OrderDispatcher {
 
     public Result<Courier, Error> dispatch(Order order, List<Courier> couriers);
 
+    /**
+     * Распределяет пакет заказов за один проход.
+     * Результат по каждому заказу доступен по его id в порядке следования заказов.
+     *
+     * @throws IllegalArgumentException если заказ с одним id встречается в пакете дважды; ничего не распределяется
+     */
+    public Map<UUID, Result<Courier, Error>> dispatchAll(List<Order> orders, List<Courier> couriers);
+
 }
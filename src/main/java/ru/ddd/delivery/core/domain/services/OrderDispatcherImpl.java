@@ -1,14 +1,23 @@
 package ru.ddd.delivery.core.domain.services;
 
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.OptionalInt;
-import java.util.stream.IntStream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import ru.ddd.delivery.core.domain.model.Location;
 import ru.ddd.delivery.core.domain.model.courier.Courier;
 import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.delivery.core.domain.model.order.OrderStatus;
+import ru.ddd.delivery.core.ports.DeliveryMetrics;
+import ru.ddd.libs.errs.DoubleResult;
 import ru.ddd.libs.errs.Error;
 import ru.ddd.libs.errs.Except;
 import ru.ddd.libs.errs.Result;
@@ -17,55 +26,394 @@ import ru.ddd.libs.errs.UnitResult;
 @Service
 public class OrderDispatcherImpl implements OrderDispatcher {
 
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+
+    private static final int MIN_LEAF_SIZE = 1_024;
+
+    private static final String NO_SUITABLE_STORAGE_PLACES = Courier.Errors.noSuitableStoragePlaces().getCode();
+
+    private final int parallelThreshold;
+    private final ForkJoinPool pool;
+    private final DeliveryMetrics metrics;
+
+    public OrderDispatcherImpl() {
+        this(DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    @Autowired
+    public OrderDispatcherImpl(DeliveryMetrics metrics) {
+        this(DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool(), metrics);
+    }
+
+    /**
+     * @param parallelThreshold размер парка, начиная с которого кандидаты оцениваются параллельно в pool
+     */
+    public OrderDispatcherImpl(int parallelThreshold, ForkJoinPool pool) {
+        this(parallelThreshold, pool, DeliveryMetrics.NOOP);
+    }
+
+    public OrderDispatcherImpl(int parallelThreshold, ForkJoinPool pool, DeliveryMetrics metrics) {
+        this.parallelThreshold = Except.againstZeroOrNegative(parallelThreshold, "parallelThreshold");
+        this.pool = Except.againstNull(pool, "pool");
+        this.metrics = Except.againstNull(metrics, "metrics");
+    }
+
+    /**
+     * Потокобезопасно: место у курьера занимается до назначения заказа. Если место успел занять другой поток,
+     * выбор повторяется. Заказ не в статусе CREATED отклоняется до выбора курьера; если его успели назначить
+     * после проверки, возвращается ошибка, а занятое место освобождается.
+     */
     @Override
     public Result<Courier, Error> dispatch(Order order, List<Courier> couriers) {
         Except.againstNull(order, "order");
         Except.againstNullOrEmpty(couriers, "couriers");
 
-        OptionalInt firstAbleToTakeOrderIndex = IntStream.range(0, couriers.size())
-            .filter(i -> {
-                Courier currentCourier = couriers.get(i);
-                Result<Boolean, Error> canTakeOrderResult = currentCourier.canTakeOrder(order);
-                return canTakeOrderResult.isSuccess();
-            })
-            .findFirst();
+        if (!metrics.isEnabled()) {
+            return dispatchToFastest(order, couriers);
+        }
+        long startedAt = System.nanoTime();
+        return recorded(startedAt, dispatchToFastest(order, couriers));
+    }
 
-        if (firstAbleToTakeOrderIndex.isEmpty()) {
-            return Result.failure(Errors.nobodyCanTakeOrder());
+    private Result<Courier, Error> recorded(long startedAt, Result<Courier, Error> result) {
+        metrics.orderDispatched(System.nanoTime() - startedAt, result.isSuccess() ? null : result.getError());
+        return result;
+    }
+
+    private Result<Courier, Error> dispatchToFastest(Order order, List<Courier> couriers) {
+        if (order.getStatus() != OrderStatus.CREATED) {
+            return Result.failure(Order.Errors.orderNotInCreatedStatus(order.getStatus()));
+        }
+        while (true) {
+            Result<Courier, Error> fastestCourierResult = couriers.size() >= parallelThreshold
+                    ? pool.invoke(new FastestCourierTask(order, couriers, 0, couriers.size(), leafSize(couriers.size()))).toResult(couriers)
+                    : findFastestCourier(order, couriers);
+            if (fastestCourierResult.isFailure()) {
+                return fastestCourierResult;
+            }
+
+            Courier fastestCourier = fastestCourierResult.getValue();
+            UnitResult<Error> takeOrderResult = fastestCourier.takeOrder(order);
+            if (takeOrderResult.isFailure()) {
+                if (isTakenConcurrently(takeOrderResult.getError())) {
+                    metrics.errorRaised(takeOrderResult.getError());
+                    continue;
+                }
+                return Result.failure(takeOrderResult.getError());
+            }
+
+            return assign(order, fastestCourier);
         }
+    }
 
-        Courier fastestCourier = couriers.get(firstAbleToTakeOrderIndex.getAsInt());
+    /**
+     * Однопроходный argmin без промежуточных массивов.
+     */
+    private Result<Courier, Error> findFastestCourier(Order order, List<Courier> couriers) {
         Location orderLocation = order.getLocation();
-        for (int i = firstAbleToTakeOrderIndex.getAsInt() + 1; i < couriers.size(); i++) {
-            Courier currentCourier = couriers.get(i);
-            Result<Boolean, Error> canTakeOrderResult = currentCourier.canTakeOrder(order);
-            if (canTakeOrderResult.isSuccess()) {
-                Result<Double, Error> result1 = currentCourier.calculateTimeToLocation(orderLocation);
-                if (result1.isFailure()) {
-                    return Result.failure(result1.getError());
+        int orderVolume = order.getVolume().getValue();
+        Courier fastestCourier = null;
+        double fastestTime = Double.POSITIVE_INFINITY;
+        for (Courier courier : couriers) {
+            if (courier.getMaxFreeVolume() < orderVolume) {
+                continue;
+            }
+
+            DoubleResult<Error> timeResult = courier.calculateTimeToLocationAsDouble(orderLocation);
+            if (timeResult.isFailure()) {
+                return Result.failure(timeResult.getError());
+            }
+            if (fastestCourier == null || timeResult.getValue() < fastestTime) {
+                fastestCourier = courier;
+                fastestTime = timeResult.getValue();
+            }
+        }
+
+        return fastestCourier == null ? Result.failure(Errors.nobodyCanTakeOrder()) : Result.success(fastestCourier);
+    }
+
+    private int leafSize(int fleetSize) {
+        return Math.max(MIN_LEAF_SIZE, fleetSize / (pool.getParallelism() * 4));
+    }
+
+    /**
+     * Лучший кандидат на отрезке парка. При равном времени выигрывает меньший индекс,
+     * как в последовательном проходе.
+     */
+    private record Candidate(int index, double time, Error error) {
+        private static final Candidate NONE = new Candidate(-1, Double.POSITIVE_INFINITY, null);
+
+        private Candidate better(Candidate other) {
+            if (this.error != null || other.index < 0) return this;
+            if (other.error != null || this.index < 0) return other;
+
+            int compare = Double.compare(this.time, other.time);
+            if (compare != 0) return compare < 0 ? this : other;
+            return this.index < other.index ? this : other;
+        }
+
+        private Result<Courier, Error> toResult(List<Courier> couriers) {
+            if (error != null) return Result.failure(error);
+            if (index < 0) return Result.failure(Errors.nobodyCanTakeOrder());
+            return Result.success(couriers.get(index));
+        }
+    }
+
+    private static final class FastestCourierTask extends RecursiveTask<Candidate> {
+        private final Order order;
+        private final List<Courier> couriers;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        private FastestCourierTask(Order order, List<Courier> couriers, int from, int to, int leafSize) {
+            this.order = order;
+            this.couriers = couriers;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected Candidate compute() {
+            if (to - from <= leafSize) {
+                return computeSequentially();
+            }
+
+            int middle = (from + to) >>> 1;
+            var left = new FastestCourierTask(order, couriers, from, middle, leafSize);
+            var right = new FastestCourierTask(order, couriers, middle, to, leafSize);
+            left.fork();
+            Candidate rightCandidate = right.compute();
+            return left.join().better(rightCandidate);
+        }
+
+        private Candidate computeSequentially() {
+            Location orderLocation = order.getLocation();
+            int orderVolume = order.getVolume().getValue();
+            Candidate best = Candidate.NONE;
+            for (int i = from; i < to; i++) {
+                Courier courier = couriers.get(i);
+                if (courier.getMaxFreeVolume() < orderVolume) {
+                    continue;
+                }
+
+                DoubleResult<Error> timeResult = courier.calculateTimeToLocationAsDouble(orderLocation);
+                if (timeResult.isFailure()) {
+                    return best.better(new Candidate(i, 0, timeResult.getError()));
                 }
-                Result<Double, Error> result2 = fastestCourier.calculateTimeToLocation(orderLocation);
-                if (result2.isFailure()) {
-                    return Result.failure(result2.getError());
+                if (best.index < 0 || timeResult.getValue() < best.time) {
+                    best = new Candidate(i, timeResult.getValue(), null);
                 }
+            }
+            return best;
+        }
+    }
 
-                if (Double.compare(result1.getValue(), result2.getValue()) < 0) {
-                    fastestCourier = currentCourier;
+    /**
+     * Распределение по пространственному индексу: просматриваются только ячейки вокруг заказа.
+     */
+    public Result<Courier, Error> dispatch(Order order, CourierGridIndex couriers) {
+        Except.againstNull(order, "order");
+        Except.againstNull(couriers, "couriers");
+
+        if (!metrics.isEnabled()) {
+            return dispatchToNearest(order, couriers);
+        }
+        long startedAt = System.nanoTime();
+        return recorded(startedAt, dispatchToNearest(order, couriers));
+    }
+
+    private Result<Courier, Error> dispatchToNearest(Order order, CourierGridIndex couriers) {
+        if (order.getStatus() != OrderStatus.CREATED) {
+            return Result.failure(Order.Errors.orderNotInCreatedStatus(order.getStatus()));
+        }
+        var fastestCourier = couriers.findFastest(order);
+        if (fastestCourier.isEmpty()) {
+            return Result.failure(Errors.nobodyCanTakeOrder());
+        }
+
+        return takeAndAssign(order, fastestCourier.get());
+    }
+
+    /**
+     * Распределение по колоночному хранилищу парка: поиск идёт по примитивным массивам без обхода курьеров.
+     * Если место успел занять другой поток, хранилище уже получило новое состояние курьера и выбор повторяется.
+     */
+    public Result<Courier, Error> dispatch(Order order, FleetStore fleet) {
+        Except.againstNull(order, "order");
+        Except.againstNull(fleet, "fleet");
+
+        if (!metrics.isEnabled()) {
+            return dispatchFromStore(order, fleet);
+        }
+        long startedAt = System.nanoTime();
+        return recorded(startedAt, dispatchFromStore(order, fleet));
+    }
+
+    private Result<Courier, Error> dispatchFromStore(Order order, FleetStore fleet) {
+        if (order.getStatus() != OrderStatus.CREATED) {
+            return Result.failure(Order.Errors.orderNotInCreatedStatus(order.getStatus()));
+        }
+        while (true) {
+            Optional<Courier> fastest = fleet.findFastestCourier(order);
+            if (fastest.isEmpty()) {
+                return Result.failure(Errors.nobodyCanTakeOrder());
+            }
+
+            Courier fastestCourier = fastest.get();
+            UnitResult<Error> takeOrderResult = fastestCourier.takeOrder(order);
+            if (takeOrderResult.isFailure()) {
+                if (isTakenConcurrently(takeOrderResult.getError())) {
+                    metrics.errorRaised(takeOrderResult.getError());
+                    continue;
                 }
+                return Result.failure(takeOrderResult.getError());
             }
+
+            return assign(order, fastestCourier);
         }
+    }
 
-        UnitResult<Error> orderAssignResult = order.assign(fastestCourier);
-        if (orderAssignResult.isFailure()) {
-            return Result.failure(orderAssignResult.getError());
+    @Override
+    public Map<UUID, Result<Courier, Error>> dispatchAll(List<Order> orders, List<Courier> couriers) {
+        Except.againstNull(orders, "orders");
+        Except.againstNullOrEmpty(couriers, "couriers");
+        var orderIds = new HashSet<UUID>(orders.size() * 2);
+        for (Order order : orders) {
+            Except.againstNull(order, "order");
+            if (!orderIds.add(order.getId())) {
+                throw new IllegalArgumentException("Duplicate order in batch: " + order.getId());
+            }
+        }
+
+        CourierState[] states = new CourierState[couriers.size()];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = new CourierState(couriers.get(i));
+        }
+
+        boolean measured = metrics.isEnabled();
+        long batchStartedAt = measured ? System.nanoTime() : 0;
+        Map<UUID, Result<Courier, Error>> results = new LinkedHashMap<>();
+        for (Order order : orders) {
+            if (!measured) {
+                results.put(order.getId(), dispatch(order, states));
+                continue;
+            }
+            long startedAt = System.nanoTime();
+            results.put(order.getId(), recorded(startedAt, dispatch(order, states)));
+        }
+        if (measured) {
+            metrics.batchDispatched(System.nanoTime() - batchStartedAt, orders.size());
+        }
+        return results;
+    }
+
+    private Result<Courier, Error> dispatch(Order order, CourierState[] states) {
+        if (order.getStatus() != OrderStatus.CREATED) {
+            return Result.failure(Order.Errors.orderNotInCreatedStatus(order.getStatus()));
+        }
+        int orderVolume = order.getVolume().getValue();
+        Location orderLocation = order.getLocation();
+
+        CourierState fastest = null;
+        int fastestTime = Integer.MAX_VALUE;
+        for (CourierState state : states) {
+            if (state.maxFreeVolume < orderVolume) {
+                continue;
+            }
+            int time = state.timeTo(orderLocation);
+            if (fastest == null || time < fastestTime) {
+                fastest = state;
+                fastestTime = time;
+            }
+        }
+
+        if (fastest == null) {
+            return Result.failure(Errors.nobodyCanTakeOrder());
+        }
+
+        UnitResult<Error> takeOrderResult = fastest.courier.takeOrder(order);
+        if (takeOrderResult.isFailure()) {
+            // Снимок мог устареть: без обновления этот же курьер выигрывал бы до конца пакета
+            fastest.refreshCapacity();
+            return Result.failure(takeOrderResult.getError());
+        }
+
+        Result<Courier, Error> assignResult = assign(order, fastest.courier);
+        fastest.refreshCapacity();
+        return assignResult;
+    }
+
+    /**
+     * Место у выбранного курьера успел занять другой поток - выбор имеет смысл повторить.
+     * Остальные отказы (например, заказ уже лежит у курьера) повтором не исправить.
+     */
+    private static boolean isTakenConcurrently(Error error) {
+        return NO_SUITABLE_STORAGE_PLACES.equals(error.getCode());
+    }
+
+    /**
+     * Кладёт заказ в место хранения выбранного курьера и назначает его. Заказ не в статусе CREATED
+     * отклоняется до того, как курьер займёт место.
+     */
+    Result<Courier, Error> takeAndAssign(Order order, Courier courier) {
+        if (order.getStatus() != OrderStatus.CREATED) {
+            return Result.failure(Order.Errors.orderNotInCreatedStatus(order.getStatus()));
         }
 
-        UnitResult<Error> takeOrderResult =  fastestCourier.takeOrder(order);
+        UnitResult<Error> takeOrderResult = courier.takeOrder(order);
         if (takeOrderResult.isFailure()) {
             return Result.failure(takeOrderResult.getError());
         }
 
-        return Result.success(fastestCourier);
+        return assign(order, courier);
+    }
+
+    /**
+     * Назначает заказ курьеру, который уже положил его в место хранения.
+     * Если заказ назначить нельзя, место освобождается; если его уже освободил другой поток, отказ учитывается в метриках.
+     */
+    private Result<Courier, Error> assign(Order order, Courier courier) {
+        UnitResult<Error> orderAssignResult = order.assign(courier);
+        if (orderAssignResult.isFailure()) {
+            UnitResult<Error> releaseResult = courier.completeOrder(order);
+            if (releaseResult.isFailure()) {
+                metrics.errorRaised(releaseResult.getError());
+            }
+            return Result.failure(orderAssignResult.getError());
+        }
+
+        return Result.success(courier);
+    }
+
+    /**
+     * Снимок курьера для пакетного распределения: позиция, скорость и наибольшее свободное место хранения.
+     * Время до точки считается так же, как в {@link Courier#calculateTimeToLocation(Location)}.
+     */
+    private static final class CourierState {
+        private final Courier courier;
+        private final int x;
+        private final int y;
+        private final int speed;
+        private int maxFreeVolume;
+
+        private CourierState(Courier courier) {
+            this.courier = courier;
+            this.x = courier.getLocation().getX();
+            this.y = courier.getLocation().getY();
+            this.speed = courier.getSpeed().getValue();
+            refreshCapacity();
+        }
+
+        private int timeTo(Location target) {
+            int distance = Math.abs(x - target.getX()) + Math.abs(y - target.getY());
+            return distance / speed;
+        }
+
+        private void refreshCapacity() {
+            maxFreeVolume = courier.getMaxFreeVolume();
+        }
     }
 
     public static class Errors {
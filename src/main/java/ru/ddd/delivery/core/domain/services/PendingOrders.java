@@ -0,0 +1,238 @@
+package ru.ddd.delivery.core.domain.services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.courier.CourierStateListener;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.delivery.core.domain.model.order.OrderStatus;
+import ru.ddd.libs.errs.DoubleResult;
+import ru.ddd.libs.errs.Error;
+import ru.ddd.libs.errs.Except;
+import ru.ddd.libs.errs.UnitResult;
+
+/**
+ * Заказы, которые никто не смог взять. Хранятся по объёму, внутри объёма - в порядке поступления.
+ * <p>
+ * Хранилище следит за курьерами: когда у курьера растёт наибольшее свободное место (завершён заказ,
+ * добавлено место хранения) и среди ждущих есть заказ, который туда помещается, курьер попадает в очередь
+ * освободившихся. {@link #redispatch()} предлагает каждому такому курьеру только подходящие по объёму заказы,
+ * из каждого объёма - не больше lookahead самых старых; берётся ближайший, при равенстве - более старый.
+ * Так повторная попытка стоит пропорционально числу освобождений, а не размеру очереди × размеру парка.
+ * <p>
+ * Если освобождение пришло, когда подходящих заказов ещё не было, его подхватывает {@link #park(Order)}:
+ * при уменьшении наименьшего ждущего объёма он ставит в очередь курьеров, в которые новый заказ уже помещается.
+ * Известные свободные места проиндексированы по объёму, поэтому просматриваются только курьеры не меньше объёма заказа.
+ * <p>
+ * Потокобезопасно. Уведомления от курьеров только ставят их в очередь и не берут блокировку хранилища.
+ * Уведомление сначала записывает свободное место, потом читает наименьший объём, а park - наоборот,
+ * поэтому хотя бы одна сторона видит запись другой и освобождение не теряется.
+ */
+public final class PendingOrders implements CourierStateListener {
+
+    public static final int DEFAULT_LOOKAHEAD = 8;
+
+    private final int lookahead;
+
+    private final NavigableMap<Integer, ArrayDeque<PendingOrder>> byVolume = new TreeMap<>();
+    private long sequence;
+    private int size;
+    // Наименьший объём среди ждущих; Integer.MAX_VALUE, если ждущих нет. Читается уведомлениями без блокировки
+    private volatile int smallestVolume = Integer.MAX_VALUE;
+
+    private final Map<UUID, Courier> watched = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> knownFreeVolume = new ConcurrentHashMap<>();
+    // Те же курьеры по наибольшему свободному месту. Пустые множества не удаляются: различных объёмов немного
+    private final ConcurrentNavigableMap<Integer, Set<UUID>> byFreeVolume = new ConcurrentSkipListMap<>();
+    private final Queue<Courier> released = new ConcurrentLinkedQueue<>();
+    private final Set<UUID> releasedIds = ConcurrentHashMap.newKeySet();
+
+    public PendingOrders() {
+        this(DEFAULT_LOOKAHEAD);
+    }
+
+    /**
+     * @param lookahead сколько самых старых заказов каждого объёма сравнивается по близости к курьеру
+     */
+    public PendingOrders(int lookahead) {
+        this.lookahead = Except.againstZeroOrNegative(lookahead, "lookahead");
+    }
+
+    public void watch(Courier courier) {
+        Except.againstNull(courier, "courier");
+        watched.put(courier.getId(), courier);
+        updateFreeVolume(courier.getId(), courier.getMaxFreeVolume());
+        courier.addStateListener(this);
+    }
+
+    public void watchAll(List<Courier> couriers) {
+        Except.againstNull(couriers, "couriers");
+        couriers.forEach(this::watch);
+    }
+
+    public void unwatch(Courier courier) {
+        Except.againstNull(courier, "courier");
+        courier.removeStateListener(this);
+        Integer previous = knownFreeVolume.remove(courier.getId());
+        if (previous != null) {
+            byFreeVolume.getOrDefault(previous, Set.of()).remove(courier.getId());
+        }
+        watched.remove(courier.getId());
+    }
+
+    @Override
+    public void courierStateChanged(Courier courier) {
+        int free = courier.getMaxFreeVolume();
+        Integer previous = updateFreeVolume(courier.getId(), free);
+        if (previous == null || free <= previous || free < smallestVolume) {
+            return;
+        }
+        release(courier);
+    }
+
+    /**
+     * Записывает наибольшее свободное место курьера в обе структуры. Уведомления одного курьера приходят
+     * под его монитором, поэтому для одного курьера обновления не пересекаются.
+     */
+    private Integer updateFreeVolume(UUID courierId, int free) {
+        byFreeVolume.computeIfAbsent(free, v -> ConcurrentHashMap.newKeySet()).add(courierId);
+        Integer previous = knownFreeVolume.put(courierId, free);
+        if (previous != null && previous != free) {
+            byFreeVolume.get(previous).remove(courierId);
+        }
+        return previous;
+    }
+
+    private void release(Courier courier) {
+        if (releasedIds.add(courier.getId())) {
+            released.add(courier);
+        }
+    }
+
+    /**
+     * Откладывает заказ до освобождения подходящего места.
+     */
+    public synchronized void park(Order order) {
+        Except.againstNull(order, "order");
+
+        int volume = order.getVolume().getValue();
+        byVolume.computeIfAbsent(volume, v -> new ArrayDeque<>()).addLast(new PendingOrder(order, sequence++));
+        size++;
+        if (volume < smallestVolume) {
+            smallestVolume = volume;
+            releaseCouriersThatFit(volume);
+        }
+    }
+
+    /**
+     * Освобождения, отброшенные, пока заказов такого объёма не было.
+     */
+    private void releaseCouriersThatFit(int volume) {
+        for (Set<UUID> courierIds : byFreeVolume.tailMap(volume, true).values()) {
+            for (UUID courierId : courierIds) {
+                Courier courier = watched.get(courierId);
+                if (courier != null) {
+                    release(courier);
+                }
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Предлагает ждущие заказы курьерам, у которых освободилось место с прошлого вызова.
+     *
+     * @return назначенные заказы; курьер каждого - {@link Order#getCourierId()}
+     */
+    public List<Order> redispatch() {
+        List<Order> assigned = new ArrayList<>();
+        Courier courier;
+        while ((courier = released.poll()) != null) {
+            releasedIds.remove(courier.getId());
+            serve(courier, assigned);
+        }
+        return assigned;
+    }
+
+    private synchronized void serve(Courier courier, List<Order> assigned) {
+        while (size > 0) {
+            PendingOrder candidate = nearest(courier, courier.getMaxFreeVolume());
+            if (candidate == null) {
+                return;
+            }
+
+            Order order = candidate.order;
+            if (order.getStatus() != OrderStatus.CREATED) {
+                remove(candidate);
+                continue;
+            }
+
+            UnitResult<Error> takeResult = courier.takeOrder(order);
+            if (takeResult.isFailure()) {
+                return;
+            }
+            UnitResult<Error> assignResult = order.assign(courier);
+            remove(candidate);
+            if (assignResult.isFailure()) {
+                // Заказ назначили после проверки статуса. Если место уже освободил другой поток,
+                // состояние курьера изменилось без нас - его следующее уведомление вернёт курьера в очередь
+                if (courier.completeOrder(order).isFailure()) {
+                    return;
+                }
+                continue;
+            }
+            assigned.add(order);
+        }
+    }
+
+    private PendingOrder nearest(Courier courier, int freeVolume) {
+        PendingOrder best = null;
+        double bestTime = Double.POSITIVE_INFINITY;
+        for (ArrayDeque<PendingOrder> orders : byVolume.headMap(freeVolume, true).values()) {
+            Iterator<PendingOrder> iterator = orders.iterator();
+            for (int seen = 0; seen < lookahead && iterator.hasNext(); seen++) {
+                PendingOrder pending = iterator.next();
+                DoubleResult<Error> timeResult = courier.calculateTimeToLocationAsDouble(pending.order.getLocation());
+                if (timeResult.isFailure()) {
+                    continue;
+                }
+                double time = timeResult.getValue();
+                if (best == null || time < bestTime || (time == bestTime && pending.sequence < best.sequence)) {
+                    best = pending;
+                    bestTime = time;
+                }
+            }
+        }
+        return best;
+    }
+
+    private void remove(PendingOrder pending) {
+        int volume = pending.order.getVolume().getValue();
+        ArrayDeque<PendingOrder> orders = byVolume.get(volume);
+        orders.remove(pending);
+        size--;
+        if (orders.isEmpty()) {
+            byVolume.remove(volume);
+            smallestVolume = byVolume.isEmpty() ? Integer.MAX_VALUE : byVolume.firstKey();
+        }
+    }
+
+    private record PendingOrder(Order order, long sequence) {
+    }
+}
@@ -0,0 +1,42 @@
+package ru.ddd.delivery.core.domain.services;
+
+final class ScalarEtaKernel implements EtaKernel {
+
+    static final ScalarEtaKernel INSTANCE = new ScalarEtaKernel();
+
+    private ScalarEtaKernel() {
+    }
+
+    @Override
+    public int etas(int count, int[] x, int[] y, int[] speed, int[] maxFreeVolume,
+                    int targetX, int targetY, int volume, int[] etas) {
+        int able = 0;
+        for (int row = 0; row < count; row++) {
+            if (maxFreeVolume[row] < volume) {
+                etas[row] = NOT_ABLE;
+                continue;
+            }
+            etas[row] = (Math.abs(x[row] - targetX) + Math.abs(y[row] - targetY)) / speed[row];
+            able++;
+        }
+        return able;
+    }
+
+    @Override
+    public int argmin(int count, int[] x, int[] y, int[] speed, int[] maxFreeVolume,
+                      int targetX, int targetY, int volume) {
+        int best = -1;
+        int bestTime = NOT_ABLE;
+        for (int row = 0; row < count; row++) {
+            if (maxFreeVolume[row] < volume) {
+                continue;
+            }
+            int time = (Math.abs(x[row] - targetX) + Math.abs(y[row] - targetY)) / speed[row];
+            if (time < bestTime) {
+                best = row;
+                bestTime = time;
+            }
+        }
+        return best;
+    }
+}
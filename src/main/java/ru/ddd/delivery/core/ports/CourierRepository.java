@@ -0,0 +1,29 @@
+package ru.ddd.delivery.core.ports;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+
+public interface CourierRepository {
+
+    void add(Courier courier);
+
+    /**
+     * Добавляет курьеров пакетом: вставки группируются в пакетные запросы, без сброса после каждого курьера.
+     */
+    void addAll(Collection<Courier> couriers);
+
+    void update(Courier courier);
+
+    /**
+     * Сохраняет изменения курьеров пакетом: курьеры читаются одним запросом, изменения уходят пакетными запросами.
+     */
+    void updateAll(Collection<Courier> couriers);
+
+    Optional<Courier> get(UUID courierId);
+
+    List<Courier> getAll();
+}
@@ -0,0 +1,62 @@
+package ru.ddd.delivery.core.ports;
+
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.libs.errs.Error;
+
+/**
+ * Метрики распределения и операций с курьерами. Вызывающие замеряют время, только если {@link #isEnabled()},
+ * поэтому с {@link #NOOP} инструментирование сводится к одной проверке.
+ */
+public interface DeliveryMetrics {
+
+    DeliveryMetrics NOOP = new DeliveryMetrics() {
+    };
+
+    enum CourierOperation {
+        REGISTER,
+        MOVE,
+        COMPLETE_ORDER
+    }
+
+    default boolean isEnabled() {
+        return false;
+    }
+
+    /**
+     * Распределение одного заказа.
+     *
+     * @param error причина отказа или null, если заказ назначен
+     */
+    default void orderDispatched(long durationNanos, Error error) {
+    }
+
+    /**
+     * Распределение пакета заказов целиком.
+     */
+    default void batchDispatched(long durationNanos, int orderCount) {
+    }
+
+    /**
+     * @param error причина отказа или null, если операция выполнена
+     */
+    default void courierOperationCompleted(CourierOperation operation, long durationNanos, Error error) {
+    }
+
+    /**
+     * Запись изменённых агрегатов в хранилище.
+     */
+    default void persisted(long durationNanos, int aggregateCount) {
+    }
+
+    /**
+     * Отказ, который не завершил операцию, например место у курьера успел занять другой поток.
+     */
+    default void errorRaised(Error error) {
+    }
+
+    /**
+     * Учитывает курьера в показателях загрузки парка.
+     */
+    default void watch(Courier courier) {
+    }
+}
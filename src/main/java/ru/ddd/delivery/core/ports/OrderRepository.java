@@ -0,0 +1,37 @@
+package ru.ddd.delivery.core.ports;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import ru.ddd.delivery.core.domain.model.order.Order;
+
+public interface OrderRepository {
+
+    void add(Order order);
+
+    /**
+     * Добавляет заказы пакетом: вставки группируются в пакетные запросы, без сброса после каждого заказа.
+     */
+    void addAll(Collection<Order> orders);
+
+    void update(Order order);
+
+    /**
+     * Сохраняет изменения заказов пакетом: заказы читаются одним запросом, изменения уходят пакетными запросами.
+     */
+    void updateAll(Collection<Order> orders);
+
+    Optional<Order> get(UUID orderId);
+
+    /**
+     * Какие из идентификаторов уже заняты сохранёнными заказами; читаются только идентификаторы.
+     */
+    Set<UUID> findExistingIds(Collection<UUID> orderIds);
+
+    List<Order> getAllCreated();
+
+    List<Order> getAllAssigned();
+}
@@ -0,0 +1,15 @@
+package ru.ddd.delivery.core.ports;
+
+/**
+ * Граница транзакции для нескольких записей через репозитории: сохраняется либо всё, либо ничего.
+ */
+@FunctionalInterface
+public interface UnitOfWork {
+
+    /**
+     * Выполняет работу без общей транзакции - для хранилищ в памяти, например в тестах.
+     */
+    UnitOfWork NONE = Runnable::run;
+
+    void execute(Runnable work);
+}
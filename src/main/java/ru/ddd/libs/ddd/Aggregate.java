@@ -6,6 +6,10 @@ import jakarta.persistence.Transient;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * События копятся под блокировкой агрегата: наследники, меняющие {@link #domainEvents} напрямую,
+ * делают это в synchronized-методах.
+ */
 @MappedSuperclass
 public abstract class Aggregate<TId extends Comparable<TId>> extends BaseEntity<TId> implements AggregateRoot<TId> {
 
@@ -21,18 +25,31 @@ public abstract class Aggregate<TId extends Comparable<TId>> extends BaseEntity<
         this.domainEvents = new ArrayList<>();
     }
 
-    public List<DomainEvent> getDomainEvents() {
+    public synchronized List<DomainEvent> getDomainEvents() {
         return List.copyOf(domainEvents);
     }
 
-    public void clearDomainEvents() {
+    public synchronized void clearDomainEvents() {
         domainEvents.clear();
     }
 
-    public void raiseDomainEvent(DomainEvent domainEvent) {
+    /**
+     * Забирает накопленные события и очищает их одним действием: событие, поднятое в другом потоке
+     * между чтением и очисткой, не теряется.
+     */
+    public synchronized List<DomainEvent> pullDomainEvents() {
+        if (domainEvents == null || domainEvents.isEmpty()) {
+            return List.of();
+        }
+        List<DomainEvent> events = List.copyOf(domainEvents);
+        domainEvents.clear();
+        return events;
+    }
+
+    public synchronized void raiseDomainEvent(DomainEvent domainEvent) {
         if (domainEvents == null) {
             domainEvents = new ArrayList<>();
         }
         domainEvents.add(domainEvent);
     }
-}
\ No newline at end of file
+}
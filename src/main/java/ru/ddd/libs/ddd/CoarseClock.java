@@ -0,0 +1,103 @@
+package ru.ddd.libs.ddd;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import ru.ddd.libs.errs.Except;
+
+/**
+ * Грубые часы: текущее время читается из системных часов фоновым потоком раз в resolution,
+ * а instant() и millis() возвращают закешированное значение без системного вызова и без аллокации.
+ * Точность - не лучше resolution. Фоновый поток - демон; close() останавливает его.
+ */
+public final class CoarseClock extends Clock implements AutoCloseable {
+
+    private final ScheduledExecutorService ticker;
+    private volatile Instant now;
+
+    public CoarseClock(Duration resolution) {
+        this(Clock.systemUTC(), resolution);
+    }
+
+    public CoarseClock(Clock source, Duration resolution) {
+        Except.againstNull(source, "source");
+        long period = Except.againstZeroOrNegative(Except.againstNull(resolution, "resolution").toNanos(), "resolution");
+
+        this.now = source.instant();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "coarse-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(() -> now = source.instant(), period, period, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Instant instant() {
+        return now;
+    }
+
+    @Override
+    public long millis() {
+        return now.toEpochMilli();
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    /**
+     * Сами часы в UTC; для другой зоны возвращается представление, которое читает тот же закешированный момент.
+     * Фоновый поток по-прежнему принадлежит этим часам.
+     */
+    @Override
+    public Clock withZone(ZoneId zone) {
+        Except.againstNull(zone, "zone");
+        if (ZoneOffset.UTC.equals(zone)) {
+            return this;
+        }
+        return new Zoned(this, zone);
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    private static final class Zoned extends Clock {
+        private final CoarseClock clock;
+        private final ZoneId zone;
+
+        private Zoned(CoarseClock clock, ZoneId zone) {
+            this.clock = clock;
+            this.zone = zone;
+        }
+
+        @Override
+        public Instant instant() {
+            return clock.instant();
+        }
+
+        @Override
+        public long millis() {
+            return clock.millis();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return clock.withZone(zone);
+        }
+    }
+}
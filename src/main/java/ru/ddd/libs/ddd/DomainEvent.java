@@ -4,13 +4,22 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
+import ru.ddd.libs.errs.Except;
+
+import java.time.Clock;
 import java.time.Instant;
 import java.util.UUID;
 
+/**
+ * Идентификатор события берётся из {@link Ids}, время - из часов {@link #useClock(Clock)}.
+ * Под нагрузкой вместо системных часов можно поставить {@link CoarseClock}.
+ */
 @Getter
 public abstract class DomainEvent extends ApplicationEvent {
-    private final UUID eventId = UUID.randomUUID();
-    private final Instant occurredOnUtc = Instant.now();
+    private static volatile Clock clock = Clock.systemUTC();
+
+    private final UUID eventId = Ids.next();
+    private final Instant occurredOnUtc = clock.instant();
 
     public DomainEvent(Object source) {
         super(source);
@@ -26,4 +35,8 @@ public abstract class DomainEvent extends ApplicationEvent {
     public Object getSource() {
         return super.getSource();
     }
-}
\ No newline at end of file
+
+    public static void useClock(Clock eventClock) {
+        clock = Except.againstNull(eventClock, "eventClock");
+    }
+}
@@ -0,0 +1,16 @@
+package ru.ddd.libs.ddd;
+
+import java.util.UUID;
+
+@FunctionalInterface
+public interface IdGenerator {
+
+    UUID next();
+
+    /**
+     * Случайный UUIDv4 через SecureRandom - прежнее поведение.
+     */
+    static IdGenerator random() {
+        return UUID::randomUUID;
+    }
+}
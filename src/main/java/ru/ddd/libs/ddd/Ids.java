@@ -0,0 +1,29 @@
+package ru.ddd.libs.ddd;
+
+import java.util.UUID;
+
+import ru.ddd.libs.errs.Except;
+
+/**
+ * Общий генератор идентификаторов сущностей и доменных событий.
+ * По умолчанию - {@link TimeOrderedIdGenerator}; заменяется при старте приложения или в тестах.
+ */
+public final class Ids {
+
+    private static volatile IdGenerator generator = new TimeOrderedIdGenerator();
+
+    private Ids() {
+    }
+
+    public static UUID next() {
+        return generator.next();
+    }
+
+    public static IdGenerator generator() {
+        return generator;
+    }
+
+    public static void useGenerator(IdGenerator idGenerator) {
+        generator = Except.againstNull(idGenerator, "idGenerator");
+    }
+}
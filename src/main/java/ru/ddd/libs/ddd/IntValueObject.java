@@ -0,0 +1,64 @@
+package ru.ddd.libs.ddd;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Объект-значение, все компоненты равенства которого - int. equals/hashCode/compareTo читают компоненты
+ * через {@link #intComponent(int)} без аллокаций; {@link #equalityComponents()} строится из них же,
+ * поэтому разойтись с ними не может. hashCode совпадает с Objects.hash(components...).
+ */
+public abstract class IntValueObject<T extends IntValueObject<T>> extends ValueObject<T> {
+
+    protected abstract int intComponentCount();
+
+    protected abstract int intComponent(int index);
+
+    @Override
+    protected final Iterable<Object> equalityComponents() {
+        int count = intComponentCount();
+        List<Object> components = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            components.add(intComponent(i));
+        }
+        return components;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        IntValueObject<?> that = (IntValueObject<?>) o;
+
+        int count = intComponentCount();
+        for (int i = 0; i < count; i++) {
+            if (intComponent(i) != that.intComponent(i))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        int count = intComponentCount();
+        for (int i = 0; i < count; i++) {
+            result = 31 * result + Integer.hashCode(intComponent(i));
+        }
+        return result;
+    }
+
+    @Override
+    public int compareTo(T other) {
+        int count = intComponentCount();
+        int otherCount = other.intComponentCount();
+        for (int i = 0; i < count && i < otherCount; i++) {
+            int result = Integer.compare(intComponent(i), other.intComponent(i));
+            if (result != 0)
+                return result;
+        }
+        return Integer.compare(count, otherCount);
+    }
+}
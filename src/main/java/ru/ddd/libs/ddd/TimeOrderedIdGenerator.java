@@ -0,0 +1,61 @@
+package ru.ddd.libs.ddd;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ru.ddd.libs.errs.Except;
+
+/**
+ * UUID версии 7 (RFC 9562): старшие 48 бит - миллисекунды Unix-времени, следующие 12 бит (rand_a) - счётчик
+ * внутри миллисекунды, остальные 62 бита - случайные.
+ * Случайные биты берутся из ThreadLocalRandom, а не из SecureRandom: генерация не блокируется
+ * и не упирается в общий источник энтропии. Идентификаторы растут со временем, поэтому новые записи
+ * попадают в конец b-tree индекса, а не в случайные страницы.
+ * <p>
+ * Идентификаторы одного генератора строго возрастают и на разных потоках: миллисекунда и счётчик продвигаются
+ * одним CAS. Если счётчик переполнился или часы отстали, метка времени берётся на единицу больше предыдущей,
+ * как разрешает RFC 9562 (метод 1, фиксированный счётчик).
+ */
+public final class TimeOrderedIdGenerator implements IdGenerator {
+
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+    private static final long VARIANT_RFC_9562 = 0x8000_0000_0000_0000L;
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    private final Clock clock;
+
+    /**
+     * Последняя выданная метка: миллисекунды, сдвинутые на COUNTER_BITS, и счётчик в младших битах.
+     */
+    private final AtomicLong lastStamp = new AtomicLong();
+
+    public TimeOrderedIdGenerator() {
+        this(Clock.systemUTC());
+    }
+
+    public TimeOrderedIdGenerator(Clock clock) {
+        this.clock = Except.againstNull(clock, "clock");
+    }
+
+    @Override
+    public UUID next() {
+        long stamp = nextStamp(clock.millis() << COUNTER_BITS);
+        long mostSigBits = ((stamp >>> COUNTER_BITS) << 16) | VERSION_7 | (stamp & COUNTER_MASK);
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & VARIANT_MASK) | VARIANT_RFC_9562;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private long nextStamp(long now) {
+        while (true) {
+            long last = lastStamp.get();
+            long next = now > last ? now : last + 1;
+            if (lastStamp.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -1,8 +1,7 @@
 package ru.ddd.libs.ddd;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Objects;
 
 public abstract class ValueObject<T extends ValueObject<T>> implements Comparable<T> {
@@ -29,14 +28,6 @@ public abstract class ValueObject<T extends ValueObject<T>> implements Comparabl
         return ((Comparable<V>) a).compareTo(b);
     }
 
-    private List<Object> toList(Iterable<Object> iterable) {
-        List<Object> list = new ArrayList<>();
-        for (Object o : iterable) {
-            list.add(o);
-        }
-        return list;
-    }
-
     @Override
     public boolean equals(Object o) {
         if (this == o)
@@ -45,47 +36,46 @@ public abstract class ValueObject<T extends ValueObject<T>> implements Comparabl
             return false;
         ValueObject<?> that = (ValueObject<?>) o;
 
-        List<Object> thisComponents = toList(this.equalityComponents());
-        List<Object> thatComponents = toList(that.equalityComponents());
-
-        if (thisComponents.size() != thatComponents.size())
-            return false;
-
-        for (int i = 0; i < thisComponents.size(); i++) {
-            if (!Objects.equals(thisComponents.get(i), thatComponents.get(i)))
+        Iterator<Object> thisComponents = this.equalityComponents().iterator();
+        Iterator<Object> thatComponents = that.equalityComponents().iterator();
+        while (thisComponents.hasNext() && thatComponents.hasNext()) {
+            if (!Objects.equals(thisComponents.next(), thatComponents.next()))
                 return false;
         }
-        return true;
+        return !thisComponents.hasNext() && !thatComponents.hasNext();
     }
 
+    // Совпадает с Objects.hash(components...)
     @Override
     public int hashCode() {
-        return Objects.hash(toList(equalityComponents()).toArray());
+        int result = 1;
+        for (Object component : equalityComponents()) {
+            result = 31 * result + Objects.hashCode(component);
+        }
+        return result;
     }
 
     @Override
     public int compareTo(T other) {
-        List<Object> thisComponents = toList(this.equalityComponents());
-        List<Object> otherComponents = toList(other.equalityComponents());
-
-        for (int i = 0; i < thisComponents.size() && i < otherComponents.size(); i++) {
-            int result = safeCompare(thisComponents.get(i), otherComponents.get(i));
+        Iterator<Object> thisComponents = this.equalityComponents().iterator();
+        Iterator<Object> otherComponents = other.equalityComponents().iterator();
+        while (thisComponents.hasNext() && otherComponents.hasNext()) {
+            int result = safeCompare(thisComponents.next(), otherComponents.next());
             if (result != 0)
                 return result;
         }
-        return Integer.compare(thisComponents.size(), otherComponents.size());
+        return Boolean.compare(thisComponents.hasNext(), otherComponents.hasNext());
     }
 
     @Override
     public String toString() {
-        List<Object> components = toList(equalityComponents());
         StringBuilder sb = new StringBuilder(getClass().getSimpleName()).append("[");
-        for (int i = 0; i < components.size(); i++) {
-            sb.append(components.get(i));
-            if (i < components.size() - 1)
-                sb.append(", ");
+        String separator = "";
+        for (Object component : equalityComponents()) {
+            sb.append(separator).append(component);
+            separator = ", ";
         }
         sb.append("]");
         return sb.toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package ru.ddd.libs.errs;
+
+/**
+ * Result с примитивным double-значением: успешный результат не упаковывает число.
+ */
+public final class DoubleResult<E> {
+    private final double value;
+    private final E error;
+    private final boolean isSuccess;
+
+    private DoubleResult(double value, E error, boolean isSuccess) {
+        this.value = value;
+        this.error = error;
+        this.isSuccess = isSuccess;
+    }
+
+    public static <E> DoubleResult<E> success(double value) {
+        return new DoubleResult<>(value, null, true);
+    }
+
+    public static <E> DoubleResult<E> failure(E error) {
+        if (error == null)
+            throw new IllegalArgumentException("Error must not be null on failure");
+        return new DoubleResult<>(0, error, false);
+    }
+
+    public boolean isSuccess() {
+        return isSuccess;
+    }
+
+    public boolean isFailure() {
+        return !isSuccess;
+    }
+
+    public double getValue() {
+        if (!isSuccess)
+            throw new IllegalStateException("Cannot get value from a failed result");
+        return value;
+    }
+
+    public E getError() {
+        if (isSuccess)
+            throw new IllegalStateException("Cannot get error from a successful result");
+        return error;
+    }
+
+    public Result<Double, E> toResult() {
+        return isSuccess ? Result.success(value) : Result.failure(error);
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess ? "Success(" + value + ")" : "Error(" + error + ")";
+    }
+}
@@ -1,33 +1,55 @@
 package ru.ddd.libs.errs;
 
 import java.util.Objects;
+import java.util.function.Supplier;
 
 public final class Error {
 
     private static final String SEPARATOR = "||";
 
     private final String code;
-    private final String message;
+    private final Supplier<String> messageSupplier;
+    private volatile String message;
 
     private Error(String code, String message) {
         this.code = code;
+        this.messageSupplier = null;
         this.message = message;
     }
 
+    private Error(String code, Supplier<String> messageSupplier) {
+        this.code = code;
+        this.messageSupplier = messageSupplier;
+    }
+
     public static Error of(String code, String message) {
         return new Error(code, message);
     }
 
+    /**
+     * Ошибка с ленивым сообщением: текст строится при первом чтении, если его вообще читают.
+     * Поставщик должен опираться только на неизменяемые данные, снятые при создании ошибки.
+     */
+    public static Error lazy(String code, Supplier<String> messageSupplier) {
+        return new Error(code, Objects.requireNonNull(messageSupplier, "messageSupplier"));
+    }
+
     public String getCode() {
         return code;
     }
 
     public String getMessage() {
-        return message;
+        String result = message;
+        if (result == null && messageSupplier != null) {
+            // Гонка безопасна: в худшем случае сообщение построят дважды
+            result = messageSupplier.get();
+            message = result;
+        }
+        return result;
     }
 
     public String serialize() {
-        return code + SEPARATOR + message;
+        return code + SEPARATOR + getMessage();
     }
 
     public static Error deserialize(String serialized) {
@@ -50,16 +72,16 @@ public final class Error {
             return true;
         if (!(o instanceof Error error))
             return false;
-        return Objects.equals(code, error.code) && Objects.equals(message, error.message);
+        return Objects.equals(code, error.code) && Objects.equals(getMessage(), error.getMessage());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(code, message);
+        return Objects.hash(code, getMessage());
     }
 
     @Override
     public String toString() {
-        return "Error{" + "code='" + code + '\'' + ", message='" + message + '\'' + '}';
+        return "Error{" + "code='" + code + '\'' + ", message='" + getMessage() + '\'' + '}';
     }
 }
\ No newline at end of file
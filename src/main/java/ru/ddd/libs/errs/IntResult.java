@@ -0,0 +1,55 @@
+package ru.ddd.libs.errs;
+
+/**
+ * Result с примитивным int-значением: успешный результат не упаковывает число.
+ */
+public final class IntResult<E> {
+    private final int value;
+    private final E error;
+    private final boolean isSuccess;
+
+    private IntResult(int value, E error, boolean isSuccess) {
+        this.value = value;
+        this.error = error;
+        this.isSuccess = isSuccess;
+    }
+
+    public static <E> IntResult<E> success(int value) {
+        return new IntResult<>(value, null, true);
+    }
+
+    public static <E> IntResult<E> failure(E error) {
+        if (error == null)
+            throw new IllegalArgumentException("Error must not be null on failure");
+        return new IntResult<>(0, error, false);
+    }
+
+    public boolean isSuccess() {
+        return isSuccess;
+    }
+
+    public boolean isFailure() {
+        return !isSuccess;
+    }
+
+    public int getValue() {
+        if (!isSuccess)
+            throw new IllegalStateException("Cannot get value from a failed result");
+        return value;
+    }
+
+    public E getError() {
+        if (isSuccess)
+            throw new IllegalStateException("Cannot get error from a successful result");
+        return error;
+    }
+
+    public Result<Integer, E> toResult() {
+        return isSuccess ? Result.success(value) : Result.failure(error);
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess ? "Success(" + value + ")" : "Error(" + error + ")";
+    }
+}
@@ -0,0 +1,46 @@
+create table if not exists couriers (
+    id                       uuid         primary key,
+    name                     varchar(255) not null,
+    speed                    integer      not null,
+    location_x               integer      not null,
+    location_y               integer      not null,
+    storage_place_allocation varchar(32)  not null
+);
+
+create table if not exists storage_places (
+    id           uuid         primary key,
+    courier_id   uuid         not null references couriers (id),
+    position     integer      not null,
+    name         varchar(255) not null,
+    total_volume integer      not null,
+    shared       boolean      not null
+);
+
+create index if not exists storage_places_courier_id_idx on storage_places (courier_id);
+
+create table if not exists storage_place_orders (
+    storage_place_id uuid    not null references storage_places (id),
+    order_id         uuid    not null,
+    volume           integer not null,
+    primary key (storage_place_id, order_id)
+);
+
+create table if not exists orders (
+    id         uuid        primary key,
+    location_x integer     not null,
+    location_y integer     not null,
+    volume     integer     not null,
+    status     varchar(32) not null,
+    courier_id uuid
+);
+
+create index if not exists orders_status_idx on orders (status);
+
+create table if not exists outbox_messages (
+    id              uuid                     primary key,
+    type            varchar(255)             not null,
+    payload         varchar                  not null,
+    occurred_on_utc timestamp with time zone not null
+);
+
+create index if not exists outbox_messages_occurred_on_utc_idx on outbox_messages (occurred_on_utc);
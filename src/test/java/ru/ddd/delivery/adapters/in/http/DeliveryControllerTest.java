@@ -0,0 +1,76 @@
+package ru.ddd.delivery.adapters.in.http;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureTestDatabase
+public class DeliveryControllerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Test
+    void shouldRegisterCourierDispatchAndCompleteOrder() throws Exception {
+        // Arrange
+        var orderId = UUID.randomUUID();
+        var courier = post("/api/v1/couriers", "{\"name\":\"k1\",\"speed\":2,\"x\":1,\"y\":1}");
+        var courierId = MAPPER.readTree(courier.body()).get("id").asText();
+        var order = post("/api/v1/orders", "{\"orderId\":\"" + orderId + "\",\"x\":2,\"y\":2,\"volume\":5}");
+
+        // Act
+        var dispatch = post("/api/v1/dispatch", "");
+        var move = post("/api/v1/couriers/" + courierId + "/move", "{\"x\":2,\"y\":2}");
+        var complete = post("/api/v1/orders/" + orderId + "/complete", "");
+
+        // Assert
+        JsonNode summary = MAPPER.readTree(dispatch.body());
+        assertAll(
+            () -> assertThat(courier.statusCode()).isEqualTo(201),
+            () -> assertThat(order.statusCode()).isEqualTo(201),
+            () -> assertThat(dispatch.statusCode()).isEqualTo(200),
+            () -> assertThat(summary.get("assigned").asInt()).isEqualTo(1),
+            () -> assertThat(move.statusCode()).isEqualTo(204),
+            () -> assertThat(complete.statusCode()).isEqualTo(204)
+        );
+    }
+
+    @Test
+    void shouldReturnErrorCodes() throws Exception {
+        // Act
+        var invalid = post("/api/v1/orders", "{\"x\":20,\"y\":2,\"volume\":5}");
+        var missing = post("/api/v1/orders/" + UUID.randomUUID() + "/complete", "");
+
+        // Assert
+        assertAll(
+            () -> assertThat(invalid.statusCode()).isEqualTo(400),
+            () -> assertThat(MAPPER.readTree(invalid.body()).get("code").asText()).isEqualTo("value.is.out.of.range"),
+            () -> assertThat(missing.statusCode()).isEqualTo(404)
+        );
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
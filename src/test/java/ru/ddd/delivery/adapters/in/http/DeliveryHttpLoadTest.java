@@ -0,0 +1,116 @@
+package ru.ddd.delivery.adapters.in.http;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Нагрузочный прогон встроенного сервера: clients одновременных клиентов на виртуальных потоках, каждый отправляет
+ * requestsPerClient запросов создания заказа. Публикует p50/p99 задержки и запросы в секунду через TestReporter.
+ * Включается -Ddelivery.loadtest=true, размер - -Ddelivery.loadtest.clients и -Ddelivery.loadtest.requests-per-client:
+ * ./mvnw test -Dtest=DeliveryHttpLoadTest -Ddelivery.loadtest=true
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.max-connections=20000",
+        "server.tomcat.accept-count=10000"
+})
+@AutoConfigureTestDatabase
+@EnabledIfSystemProperty(named = "delivery.loadtest", matches = "true")
+public class DeliveryHttpLoadTest {
+
+    private static final int COURIERS = 100;
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Test
+    void shouldServeConcurrentClients(TestReporter reporter) throws Exception {
+        // Arrange
+        int clients = Integer.getInteger("delivery.loadtest.clients", 10_000);
+        int requestsPerClient = Integer.getInteger("delivery.loadtest.requests-per-client", 10);
+        var client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        for (int i = 0; i < COURIERS; i++) {
+            var response = client.send(post("/api/v1/couriers",
+                    "{\"name\":\"k" + i + "\",\"speed\":2,\"x\":" + (i % 10 + 1) + ",\"y\":" + (i / 10 % 10 + 1) + "}"),
+                    HttpResponse.BodyHandlers.discarding());
+            assertThat(response.statusCode()).isEqualTo(201);
+        }
+
+        long[] latencies = new long[clients * requestsPerClient];
+        var failures = new AtomicInteger();
+        var start = new CountDownLatch(1);
+
+        // Act
+        long startedAt;
+        long duration;
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int offset = c * requestsPerClient;
+                executor.submit(() -> {
+                    start.await();
+                    var random = ThreadLocalRandom.current();
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        var request = post("/api/v1/orders", "{\"x\":" + random.nextInt(1, 11) + ",\"y\":"
+                                + random.nextInt(1, 11) + ",\"volume\":" + random.nextInt(1, 11) + "}");
+                        long sentAt = System.nanoTime();
+                        try {
+                            var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 201) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[offset + r] = System.nanoTime() - sentAt;
+                    }
+                    return null;
+                });
+            }
+            startedAt = System.nanoTime();
+            start.countDown();
+        }
+        duration = System.nanoTime() - startedAt;
+        var dispatch = client.send(post("/api/v1/dispatch", ""), HttpResponse.BodyHandlers.ofString());
+
+        // Assert
+        Arrays.sort(latencies);
+        reporter.publishEntry("load", String.format(
+                "clients=%d requests=%d p50=%.2fms p99=%.2fms max=%.2fms throughput=%.0f req/s failures=%d dispatch=%s",
+                clients, latencies.length,
+                percentile(latencies, 50) / 1e6, percentile(latencies, 99) / 1e6, latencies[latencies.length - 1] / 1e6,
+                latencies.length / (duration / 1e9), failures.get(), dispatch.body()));
+        assertThat(failures.get()).isZero();
+        assertThat(dispatch.statusCode()).isEqualTo(200);
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofMinutes(1))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
@@ -0,0 +1,139 @@
+package ru.ddd.delivery.adapters.out.micrometer;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Speed;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.delivery.core.domain.services.CourierGridIndex;
+import ru.ddd.delivery.core.domain.services.FleetStore;
+import ru.ddd.delivery.core.domain.services.OptimalOrderDispatcher;
+import ru.ddd.delivery.core.domain.services.OrderDispatcherImpl;
+import ru.ddd.delivery.core.ports.DeliveryMetrics.CourierOperation;
+import ru.ddd.libs.errs.Error;
+
+public class MicrometerDeliveryMetricsTest {
+
+    @Test
+    void shouldTimeDispatchByOutcomeAndCountErrorCodes() {
+        // Arrange
+        var registry = new SimpleMeterRegistry();
+        var metrics = new MicrometerDeliveryMetrics(registry);
+        var dispatcher = new OrderDispatcherImpl(OrderDispatcherImpl.DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool(), metrics);
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var small = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(5).getValue()).getValue();
+        var large = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(20).getValue()).getValue();
+
+        // Act
+        dispatcher.dispatch(small, List.of(courier));
+        dispatcher.dispatch(large, List.of(courier));
+
+        // Assert
+        assertAll(
+            () -> assertThat(registry.get("delivery.dispatch").tag("outcome", "success").timer().count()).isEqualTo(1),
+            () -> assertThat(registry.get("delivery.dispatch").tag("outcome", "failure").timer().count()).isEqualTo(1),
+            () -> assertThat(registry.get("delivery.errors").tag("code", "nobody.can.take.order").counter().count()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void shouldTimeIndexedAndStoreDispatchAndOptimalFallback() {
+        // Arrange
+        var registry = new SimpleMeterRegistry();
+        var metrics = new MicrometerDeliveryMetrics(registry);
+        var dispatcher = new OrderDispatcherImpl(metrics);
+        var optimal = new OptimalOrderDispatcher(OptimalOrderDispatcher.DEFAULT_TIME_BUDGET, metrics);
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        courier.addStoragePlace("rack", Volume.create(5).getValue());
+        courier.addStoragePlace("box", Volume.create(5).getValue());
+        var grid = new CourierGridIndex();
+        grid.add(courier);
+        var fleet = new FleetStore();
+        fleet.add(courier);
+        var first = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(5).getValue()).getValue();
+        var second = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(5).getValue()).getValue();
+        var third = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(5).getValue()).getValue();
+
+        // Act
+        dispatcher.dispatch(first, grid);
+        dispatcher.dispatch(second, fleet);
+        optimal.dispatch(third, List.of(courier));
+
+        // Assert
+        assertThat(registry.get("delivery.dispatch").tag("outcome", "success").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldTimeBatchDispatch() {
+        // Arrange
+        var registry = new SimpleMeterRegistry();
+        var metrics = new MicrometerDeliveryMetrics(registry);
+        var dispatcher = new OrderDispatcherImpl(OrderDispatcherImpl.DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool(), metrics);
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var first = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(5).getValue()).getValue();
+        var second = Order.create(UUID.randomUUID(), Location.create(5, 6).getValue(), Volume.create(5).getValue()).getValue();
+
+        // Act
+        dispatcher.dispatchAll(List.of(first, second), List.of(courier));
+
+        // Assert
+        assertAll(
+            () -> assertThat(registry.get("delivery.dispatch.batch").timer().count()).isEqualTo(1),
+            () -> assertThat(registry.get("delivery.dispatch.batch.size").summary().totalAmount()).isEqualTo(2),
+            () -> assertThat(registry.get("delivery.dispatch").tag("outcome", "success").timer().count()).isEqualTo(2)
+        );
+    }
+
+    @Test
+    void shouldTrackFleetUtilizationAndRemainingVolume() {
+        // Arrange
+        var registry = new SimpleMeterRegistry();
+        var metrics = new MicrometerDeliveryMetrics(registry);
+        var busy = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var idle = Courier.create("k2", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        metrics.watch(busy);
+        metrics.watch(idle);
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(4).getValue()).getValue();
+
+        // Act
+        busy.takeOrder(order);
+        idle.addSharedStoragePlace("Багажник", Volume.create(30).getValue());
+
+        // Assert
+        assertAll(
+            () -> assertThat(registry.get("delivery.fleet.size").gauge().value()).isEqualTo(2),
+            () -> assertThat(registry.get("delivery.fleet.busy").gauge().value()).isEqualTo(1),
+            () -> assertThat(registry.get("delivery.fleet.utilization").gauge().value()).isEqualTo(0.5),
+            () -> assertThat(registry.get("delivery.fleet.remaining.volume").gauge().value()).isEqualTo(46)
+        );
+    }
+
+    @Test
+    void shouldTimeCourierOperationsByOutcome() {
+        // Arrange
+        var registry = new SimpleMeterRegistry();
+        var metrics = new MicrometerDeliveryMetrics(registry);
+
+        // Act
+        metrics.courierOperationCompleted(CourierOperation.MOVE, 1_000, null);
+        metrics.courierOperationCompleted(CourierOperation.COMPLETE_ORDER, 1_000, Error.of("order.was.not.assigned", "-"));
+
+        // Assert
+        assertAll(
+            () -> assertThat(registry.get("delivery.courier.operation").tags("operation", "move", "outcome", "success")
+                    .timer().count()).isEqualTo(1),
+            () -> assertThat(registry.get("delivery.courier.operation").tags("operation", "complete_order", "outcome", "failure")
+                    .timer().count()).isEqualTo(1),
+            () -> assertThat(registry.get("delivery.errors").tag("code", "order.was.not.assigned").counter().count()).isEqualTo(1)
+        );
+    }
+}
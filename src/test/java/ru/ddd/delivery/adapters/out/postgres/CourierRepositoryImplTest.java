@@ -0,0 +1,147 @@
+package ru.ddd.delivery.adapters.out.postgres;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Speed;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.courier.StoragePlaceAllocation;
+import ru.ddd.delivery.core.domain.model.order.Order;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(CourierRepositoryImpl.class)
+public class CourierRepositoryImplTest {
+
+    @Autowired
+    private CourierRepositoryImpl courierRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldRestoreCourierWithStoragePlacesAndStoredOrders() {
+        // Arrange
+        var courier = createCourier("k1");
+        courier.changeStoragePlaceAllocation(StoragePlaceAllocation.FIRST_FIT);
+        courier.addSharedStoragePlace("Багажник", Volume.create(30).getValue());
+        var order1 = createOrder(10);
+        var order2 = createOrder(15);
+        courier.takeOrder(order1);
+        courier.takeOrder(order2);
+
+        // Act
+        courierRepository.add(courier);
+        flushAndClear();
+        var restored = courierRepository.get(courier.getId()).orElseThrow();
+
+        // Assert
+        var places = restored.getStoragePlaces();
+        assertAll(
+            () -> assertThat(restored).isEqualTo(courier),
+            () -> assertThat(restored.getName()).isEqualTo("k1"),
+            () -> assertThat(restored.getSpeed()).isEqualTo(courier.getSpeed()),
+            () -> assertThat(restored.getLocation()).isEqualTo(courier.getLocation()),
+            () -> assertThat(restored.getStoragePlaceAllocation()).isEqualTo(StoragePlaceAllocation.FIRST_FIT),
+            () -> assertThat(places).extracting(place -> place.getName()).containsExactly("Рюкзак", "Багажник"),
+            () -> assertThat(places.get(1).isShared()).isTrue(),
+            () -> assertThat(places.get(1).getOrderVolumes()).isEqualTo(Map.of(order2.getId(), 15)),
+            () -> assertThat(places.get(0).getOrderVolumes()).isEqualTo(Map.of(order1.getId(), 10)),
+            () -> assertThat(restored.getMaxFreeVolume()).isEqualTo(15)
+        );
+    }
+
+    @Test
+    void shouldSaveChangedCouriersOnUpdateAll() {
+        // Arrange
+        var courier1 = createCourier("k1");
+        var courier2 = createCourier("k2");
+        courierRepository.addAll(List.of(courier1, courier2));
+        flushAndClear();
+
+        var order = createOrder(5);
+        courier1.takeOrder(order);
+        courier2.move(Location.create(5, 5).getValue());
+
+        // Act
+        courierRepository.updateAll(List.of(courier1, courier2));
+        flushAndClear();
+
+        // Assert
+        var restored1 = courierRepository.get(courier1.getId()).orElseThrow();
+        var restored2 = courierRepository.get(courier2.getId()).orElseThrow();
+        assertAll(
+            () -> assertThat(restored1.findStoragePlace(order.getId())).isPresent(),
+            () -> assertThat(restored2.getLocation()).isEqualTo(courier2.getLocation())
+        );
+    }
+
+    @Test
+    void shouldThrowExceptionWhenCourierIsNotFoundOnUpdateAll() {
+        // Arrange
+        var courier = createCourier("k1");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> courierRepository.updateAll(List.of(courier)));
+    }
+
+    @Test
+    void shouldInsertCouriersInBatchesOnAddAll() {
+        // Arrange
+        List<Courier> couriers = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            couriers.add(createCourier("k" + i));
+        }
+
+        // Act
+        courierRepository.addAll(couriers);
+        entityManager.flush();
+
+        // Assert
+        assertAll(
+            () -> assertThat(statistics.getEntityInsertCount()).isEqualTo(2_000),
+            () -> assertThat(statistics.getEntityLoadCount()).isZero(),
+            () -> assertThat(statistics.getPrepareStatementCount()).isLessThan(20)
+        );
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static Courier createCourier(String name) {
+        return Courier.create(name, Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+    }
+
+    private static Order createOrder(int volume) {
+        return Order.create(UUID.randomUUID(), Location.create(3, 3).getValue(), Volume.create(volume).getValue()).getValue();
+    }
+}
@@ -0,0 +1,103 @@
+package ru.ddd.delivery.adapters.out.postgres;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import jakarta.persistence.EntityManager;
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Speed;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.delivery.core.domain.model.order.OrderStatus;
+
+@DataJpaTest
+@Import(OrderRepositoryImpl.class)
+public class OrderRepositoryImplTest {
+
+    @Autowired
+    private OrderRepositoryImpl orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void shouldRestoreOrder() {
+        // Arrange
+        var order = createOrder();
+
+        // Act
+        orderRepository.add(order);
+        flushAndClear();
+        var restored = orderRepository.get(order.getId()).orElseThrow();
+
+        // Assert
+        assertAll(
+            () -> assertThat(restored).isEqualTo(order),
+            () -> assertThat(restored.getLocation()).isEqualTo(order.getLocation()),
+            () -> assertThat(restored.getVolume()).isEqualTo(order.getVolume()),
+            () -> assertThat(restored.getStatus()).isEqualTo(OrderStatus.CREATED),
+            () -> assertThat(restored.getCourierId()).isNull()
+        );
+    }
+
+    @Test
+    void shouldSaveAssignedOrdersOnUpdateAllAndReturnOnlyCreated() {
+        // Arrange
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            orders.add(createOrder());
+        }
+        orderRepository.addAll(orders);
+        flushAndClear();
+
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var assigned = orders.subList(0, 4);
+        assigned.forEach(order -> order.assign(courier));
+
+        // Act
+        orderRepository.updateAll(assigned);
+        flushAndClear();
+
+        // Assert
+        var restored = orderRepository.get(assigned.get(0).getId()).orElseThrow();
+        assertAll(
+            () -> assertThat(restored.getStatus()).isEqualTo(OrderStatus.ASSIGNED),
+            () -> assertThat(restored.getCourierId()).isEqualTo(courier.getId()),
+            () -> assertThat(orderRepository.getAllCreated()).containsExactlyInAnyOrderElementsOf(orders.subList(4, 10)),
+            () -> assertThat(orderRepository.getAllAssigned()).containsExactlyInAnyOrderElementsOf(assigned)
+        );
+    }
+
+    @Test
+    void shouldFindOnlyStoredIds() {
+        // Arrange
+        var stored = createOrder();
+        orderRepository.add(stored);
+        flushAndClear();
+        var missingId = UUID.randomUUID();
+
+        // Act
+        var existing = orderRepository.findExistingIds(List.of(stored.getId(), missingId));
+
+        // Assert
+        assertThat(existing).containsExactly(stored.getId());
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static Order createOrder() {
+        return Order.create(UUID.randomUUID(), Location.create(3, 3).getValue(), Volume.create(5).getValue()).getValue();
+    }
+}
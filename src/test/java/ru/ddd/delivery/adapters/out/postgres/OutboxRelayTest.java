@@ -0,0 +1,147 @@
+package ru.ddd.delivery.adapters.out.postgres;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import jakarta.persistence.EntityManager;
+import lombok.Getter;
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.libs.ddd.DomainEvent;
+
+@DataJpaTest(properties = "delivery.outbox.batch-size=2")
+@Import({ OrderRepositoryImpl.class, Outbox.class, OutboxRelay.class, OutboxRelayTest.SinkConfiguration.class })
+public class OutboxRelayTest {
+
+    @Autowired
+    private OrderRepositoryImpl orderRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxJpaRepository outboxJpaRepository;
+
+    @Autowired
+    private RecordingSink sink;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        sink.batches.clear();
+    }
+
+    @Test
+    void shouldSaveDomainEventsWithAggregateAndClearThem() {
+        // Arrange
+        var order = createOrder();
+        order.raiseDomainEvent(new TestEvent(order, "created"));
+
+        // Act
+        orderRepository.add(order);
+        entityManager.flush();
+
+        // Assert
+        assertAll(
+            () -> assertThat(order.getDomainEvents()).isEmpty(),
+            () -> assertThat(outboxJpaRepository.count()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void shouldRelayEventsInBatchesAndRemoveThem() {
+        // Arrange
+        List<Order> orders = new ArrayList<>();
+        List<UUID> eventIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            var order = createOrder();
+            var event = new TestEvent(order, "event" + i);
+            order.raiseDomainEvent(event);
+            orders.add(order);
+            eventIds.add(event.getEventId());
+        }
+        orderRepository.addAll(orders);
+        entityManager.flush();
+
+        // Act
+        outboxRelay.relay();
+
+        // Assert
+        var relayed = sink.batches.stream().flatMap(List::stream).toList();
+        assertAll(
+            () -> assertThat(sink.batches).extracting(List::size).containsExactly(2, 1),
+            () -> assertThat(relayed).extracting(DomainEvent::getEventId).containsExactlyInAnyOrderElementsOf(eventIds),
+            () -> assertThat(relayed).allSatisfy(event -> assertThat(event).isInstanceOf(TestEvent.class)),
+            () -> assertThat(outboxJpaRepository.count()).isZero()
+        );
+    }
+
+    @Test
+    void shouldRestoreEventPayload() {
+        // Arrange
+        var order = createOrder();
+        var event = new TestEvent(order, "payload");
+        order.raiseDomainEvent(event);
+        orderRepository.add(order);
+        entityManager.flush();
+
+        // Act
+        int relayed = outboxRelay.relayBatch();
+
+        // Assert
+        var restored = (TestEvent) sink.batches.get(0).get(0);
+        assertAll(
+            () -> assertThat(relayed).isEqualTo(1),
+            () -> assertThat(restored.getText()).isEqualTo("payload"),
+            () -> assertThat(restored.getOccurredOnUtc()).isEqualTo(event.getOccurredOnUtc())
+        );
+    }
+
+    private static Order createOrder() {
+        return Order.create(UUID.randomUUID(), Location.create(3, 3).getValue(), Volume.create(5).getValue()).getValue();
+    }
+
+    @Getter
+    public static class TestEvent extends DomainEvent {
+        private String text;
+
+        public TestEvent(Object source, String text) {
+            super(source);
+            this.text = text;
+        }
+
+        protected TestEvent() {
+        }
+    }
+
+    static class RecordingSink implements OutboxEventSink {
+        private final List<List<DomainEvent>> batches = new ArrayList<>();
+
+        @Override
+        public void publish(List<DomainEvent> events) {
+            batches.add(List.copyOf(events));
+        }
+    }
+
+    @TestConfiguration
+    static class SinkConfiguration {
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+}
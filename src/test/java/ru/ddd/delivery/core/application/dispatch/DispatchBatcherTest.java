@@ -0,0 +1,160 @@
+package ru.ddd.delivery.core.application.dispatch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import org.junit.jupiter.api.Test;
+
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Speed;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.delivery.core.domain.model.order.OrderStatus;
+import ru.ddd.delivery.core.domain.services.OrderDispatcherImpl;
+import ru.ddd.libs.errs.Error;
+import ru.ddd.libs.errs.Result;
+
+public class DispatchBatcherTest {
+
+    @Test
+    void shouldDispatchWhenBatchIsFull() throws Exception {
+        // Arrange
+        List<Courier> couriers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            couriers.add(Courier.create("k" + i, Speed.create(2).getValue(), Location.create(1 + i, 1).getValue()).getValue());
+        }
+        var batcher = new DispatchBatcher(new OrderDispatcherImpl(), () -> couriers, 3, Duration.ofMinutes(1));
+        batcher.start(Thread.ofVirtual().factory());
+        List<Order> orders = new ArrayList<>();
+        List<CompletableFuture<Result<Courier, Error>>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            var order = Order.create(UUID.randomUUID(), Location.create(5, 5 + i).getValue(), Volume.create(5).getValue()).getValue();
+            orders.add(order);
+            results.add(batcher.submit(order));
+        }
+        for (var result : results) {
+            result.get(10, TimeUnit.SECONDS);
+        }
+        batcher.close();
+
+        // Assert
+        assertAll(
+            () -> assertThat(results).allMatch(r -> r.join().isSuccess()),
+            () -> assertThat(orders).allMatch(o -> o.getStatus() == OrderStatus.ASSIGNED),
+            () -> assertThat(batcher.getStatistics().batchCount()).isEqualTo(1),
+            () -> assertThat(batcher.getStatistics().batchSizePercentile(100)).isEqualTo(3),
+            () -> assertThat(batcher.getQueueDepth()).isZero()
+        );
+    }
+
+    @Test
+    void shouldDispatchPartialBatchWhenWindowExpires() throws Exception {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var batcher = new DispatchBatcher(new OrderDispatcherImpl(), () -> List.of(courier), 100, Duration.ofMillis(10));
+        batcher.start(Thread.ofVirtual().factory());
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(5).getValue()).getValue();
+
+        // Act
+        var result = batcher.submit(order).get(10, TimeUnit.SECONDS);
+        batcher.close();
+
+        // Assert
+        assertAll(
+            () -> assertThat(result.isSuccess()).isTrue(),
+            () -> assertThat(result.getValue().getId()).isEqualTo(courier.getId()),
+            () -> assertThat(batcher.getStatistics().queueLatencyPercentile(100))
+                    .isGreaterThanOrEqualTo(Duration.ofMillis(10).toNanos()),
+            () -> assertThat(batcher.getWindow()).isEqualTo(Duration.ofMillis(5))
+        );
+    }
+
+    @Test
+    void shouldReportFailureWhenNobodyCanTakeOrder() throws Exception {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var batcher = new DispatchBatcher(new OrderDispatcherImpl(), () -> List.of(courier), 100, Duration.ZERO);
+        batcher.start(Thread.ofVirtual().factory());
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(20).getValue()).getValue();
+
+        // Act
+        var result = batcher.submit(order).get(10, TimeUnit.SECONDS);
+        batcher.close();
+
+        // Assert
+        assertAll(
+            () -> assertThat(result.isFailure()).isTrue(),
+            () -> assertThat(order.getStatus()).isEqualTo(OrderStatus.CREATED)
+        );
+    }
+
+    @Test
+    void shouldDispatchQueuedOrdersOnClose() throws Exception {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var batcher = new DispatchBatcher(new OrderDispatcherImpl(), () -> List.of(courier), 100, Duration.ofMinutes(1));
+        batcher.start(Thread.ofVirtual().factory());
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(5).getValue()).getValue();
+        var result = batcher.submit(order);
+
+        // Act
+        batcher.close();
+
+        // Assert
+        assertAll(
+            () -> assertThat(result).isDone(),
+            () -> assertThat(result.join().isSuccess()).isTrue(),
+            () -> assertThat(order.getStatus()).isEqualTo(OrderStatus.ASSIGNED)
+        );
+    }
+
+    @Test
+    void shouldCompleteEveryAcceptedOrderWhenClosedConcurrently() throws Exception {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var batcher = new DispatchBatcher(new OrderDispatcherImpl(), () -> List.of(courier), 16, Duration.ofMillis(1));
+        batcher.start(Thread.ofVirtual().factory());
+        var results = new ConcurrentLinkedQueue<CompletableFuture<Result<Courier, Error>>>();
+        var start = new CountDownLatch(1);
+        List<Thread> submitters = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            submitters.add(Thread.ofVirtual().start(() -> {
+                try {
+                    start.await();
+                    while (true) {
+                        results.add(batcher.submit(Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(),
+                                Volume.create(5).getValue()).getValue()));
+                    }
+                } catch (IllegalStateException | InterruptedException e) {
+                    // Батчер закрыт
+                }
+            }));
+        }
+
+        // Act
+        start.countDown();
+        Thread.sleep(20);
+        batcher.close();
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+
+        // Assert
+        assertAll(
+            () -> assertThat(results).isNotEmpty(),
+            () -> assertThat(results).allMatch(CompletableFuture::isDone),
+            () -> assertThat(batcher.getQueueDepth()).isZero()
+        );
+    }
+}
@@ -0,0 +1,393 @@
+package ru.ddd.delivery.core.application.dispatch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import org.junit.jupiter.api.Test;
+
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Speed;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.delivery.core.domain.model.order.OrderStatus;
+import ru.ddd.delivery.core.domain.services.OrderDispatcherImpl;
+import ru.ddd.delivery.core.ports.CourierRepository;
+import ru.ddd.delivery.core.ports.DeliveryMetrics;
+import ru.ddd.delivery.core.ports.OrderRepository;
+import ru.ddd.delivery.core.ports.UnitOfWork;
+import ru.ddd.libs.errs.Error;
+import ru.ddd.libs.errs.Result;
+
+public class DispatchLoopTest {
+
+    @Test
+    void shouldRegisterDispatchMoveAndCompleteOrder() throws Exception {
+        // Arrange
+        var couriers = new InMemoryCourierRepository();
+        var orders = new InMemoryOrderRepository();
+        var loop = new DispatchLoop(couriers, orders, new OrderDispatcherImpl());
+        loop.start(Thread.ofPlatform().factory());
+        var orderId = UUID.randomUUID();
+
+        // Act
+        var courier = loop.registerCourier("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).join().getValue();
+        var created = loop.createOrder(orderId, Location.create(2, 2).getValue(), Volume.create(5).getValue()).join();
+        var summary = loop.dispatch().join();
+        var moved = loop.moveCourier(courier.getId(), Location.create(2, 2).getValue()).join();
+        var completed = loop.completeOrder(orderId).join();
+        loop.close();
+
+        // Assert
+        assertAll(
+            () -> assertThat(created.isSuccess()).isTrue(),
+            () -> assertThat(summary.assigned()).isEqualTo(1),
+            () -> assertThat(summary.pending()).isZero(),
+            () -> assertThat(moved.isSuccess()).isTrue(),
+            () -> assertThat(completed.isSuccess()).isTrue(),
+            () -> assertThat(orders.stored.get(orderId).getStatus()).isEqualTo(OrderStatus.COMPLETED),
+            () -> assertThat(couriers.stored.get(courier.getId()).getLocation()).isEqualTo(Location.create(2, 2).getValue())
+        );
+    }
+
+    @Test
+    void shouldRejectDuplicateOrder() throws Exception {
+        // Arrange
+        var loop = new DispatchLoop(new InMemoryCourierRepository(), new InMemoryOrderRepository(), new OrderDispatcherImpl());
+        loop.start(Thread.ofPlatform().factory());
+        var orderId = UUID.randomUUID();
+        loop.createOrder(orderId, Location.create(2, 2).getValue(), Volume.create(5).getValue()).join();
+
+        // Act
+        var duplicate = loop.createOrder(orderId, Location.create(3, 3).getValue(), Volume.create(5).getValue()).join();
+        loop.close();
+
+        // Assert
+        assertAll(
+            () -> assertThat(duplicate.isFailure()).isTrue(),
+            () -> assertThat(duplicate.getError().getCode()).isEqualTo("order.already.exists")
+        );
+    }
+
+    @Test
+    void shouldRejectOrderStoredBeforeWithoutReadingItOnWriter() throws Exception {
+        // Arrange
+        var orders = new InMemoryOrderRepository();
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var stored = Order.create(UUID.randomUUID(), Location.create(1, 1).getValue(), Volume.create(5).getValue()).getValue();
+        stored.assign(courier);
+        stored.complete();
+        orders.stored.put(stored.getId(), stored);
+        var loop = new DispatchLoop(new InMemoryCourierRepository(), orders, new OrderDispatcherImpl());
+        loop.start(Thread.ofPlatform().factory());
+
+        // Act
+        var duplicate = loop.createOrder(stored.getId(), Location.create(3, 3).getValue(), Volume.create(5).getValue()).join();
+        loop.close();
+
+        // Assert
+        assertAll(
+            () -> assertThat(duplicate.getError().getCode()).isEqualTo("order.already.exists"),
+            () -> assertThat(orders.gets.get()).isZero(),
+            () -> assertThat(orders.writes.get()).isZero()
+        );
+    }
+
+    @Test
+    void shouldCompleteOrderAssignedBeforeStart() throws Exception {
+        // Arrange
+        var couriers = new InMemoryCourierRepository();
+        var orders = new InMemoryOrderRepository();
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var order = Order.create(UUID.randomUUID(), Location.create(1, 1).getValue(), Volume.create(5).getValue()).getValue();
+        courier.takeOrder(order);
+        order.assign(courier);
+        couriers.add(courier);
+        orders.add(order);
+        var loop = new DispatchLoop(couriers, orders, new OrderDispatcherImpl());
+        loop.start(Thread.ofPlatform().factory());
+
+        // Act
+        var completed = loop.completeOrder(order.getId()).join();
+        loop.close();
+
+        // Assert
+        assertAll(
+            () -> assertThat(completed.isSuccess()).isTrue(),
+            () -> assertThat(order.getStatus()).isEqualTo(OrderStatus.COMPLETED),
+            () -> assertThat(orders.gets.get()).isZero()
+        );
+    }
+
+    @Test
+    void shouldWriteEachBatchInOneUnitOfWork() throws Exception {
+        // Arrange
+        var orders = new InMemoryOrderRepository();
+        var units = new AtomicInteger();
+        var writesInUnit = new AtomicInteger();
+        UnitOfWork unitOfWork = work -> {
+            units.incrementAndGet();
+            int before = orders.writes.get();
+            work.run();
+            writesInUnit.addAndGet(orders.writes.get() - before);
+        };
+        var loop = new DispatchLoop(new InMemoryCourierRepository(), orders, unitOfWork, new OrderDispatcherImpl(),
+                DispatchLoop.DEFAULT_MAX_COMMANDS_PER_FLUSH, DeliveryMetrics.NOOP);
+        loop.start(Thread.ofPlatform().factory());
+
+        // Act
+        loop.registerCourier("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).join();
+        loop.createOrder(UUID.randomUUID(), Location.create(2, 2).getValue(), Volume.create(5).getValue()).join();
+        loop.dispatch().join();
+        loop.close();
+
+        // Assert
+        assertAll(
+            () -> assertThat(units.get()).isBetween(1, 3),
+            () -> assertThat(writesInUnit.get()).isEqualTo(orders.writes.get())
+        );
+    }
+
+    @Test
+    void shouldFailCommandsWhenUnitOfWorkFails() throws Exception {
+        // Arrange
+        var orders = new InMemoryOrderRepository();
+        UnitOfWork unitOfWork = work -> {
+            throw new IllegalStateException("transaction failed");
+        };
+        var loop = new DispatchLoop(new InMemoryCourierRepository(), orders, unitOfWork, new OrderDispatcherImpl(),
+                DispatchLoop.DEFAULT_MAX_COMMANDS_PER_FLUSH, DeliveryMetrics.NOOP);
+        loop.start(Thread.ofPlatform().factory());
+
+        // Act
+        var failed = loop.createOrder(UUID.randomUUID(), Location.create(2, 2).getValue(), Volume.create(5).getValue());
+        var failedDone = failed.handle((r, e) -> e != null).join();
+        loop.close();
+
+        // Assert
+        assertAll(
+            () -> assertThat(failedDone).isTrue(),
+            () -> assertThat(orders.stored).isEmpty()
+        );
+    }
+
+    @Test
+    void shouldRejectCommandsAfterClose() throws Exception {
+        // Arrange
+        var loop = new DispatchLoop(new InMemoryCourierRepository(), new InMemoryOrderRepository(), new OrderDispatcherImpl());
+        loop.start(Thread.ofPlatform().factory());
+
+        // Act
+        loop.close();
+
+        // Assert
+        assertThatThrownBy(loop::dispatch).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldWriteConcurrentCommandsInBatches() throws Exception {
+        // Arrange
+        var orders = new InMemoryOrderRepository();
+        var loop = new DispatchLoop(new InMemoryCourierRepository(), orders, new OrderDispatcherImpl());
+        loop.start(Thread.ofPlatform().factory());
+        List<CompletableFuture<Result<Order, Error>>> results = new ArrayList<>();
+
+        // Act
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<CompletableFuture<Result<Order, Error>>>> submitted = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                submitted.add(executor.submit(() -> loop.createOrder(UUID.randomUUID(),
+                        Location.create(2, 2).getValue(), Volume.create(5).getValue())));
+            }
+            for (var future : submitted) {
+                results.add(future.get());
+            }
+        }
+        results.forEach(CompletableFuture::join);
+        loop.close();
+
+        // Assert
+        assertAll(
+            () -> assertThat(results).allMatch(r -> r.join().isSuccess()),
+            () -> assertThat(orders.stored).hasSize(1_000),
+            () -> assertThat(orders.writes.get()).isLessThanOrEqualTo(1_000)
+        );
+    }
+
+    @Test
+    void shouldFailBatchAndReloadWhenWriteFails() throws Exception {
+        // Arrange
+        var orders = new InMemoryOrderRepository();
+        var loop = new DispatchLoop(new InMemoryCourierRepository(), orders, new OrderDispatcherImpl());
+        loop.start(Thread.ofPlatform().factory());
+        orders.failWrites = true;
+
+        // Act
+        var failed = loop.createOrder(UUID.randomUUID(), Location.create(2, 2).getValue(), Volume.create(5).getValue());
+        var failedDone = failed.handle((r, e) -> e != null).join();
+        orders.failWrites = false;
+        var summary = loop.dispatch().join();
+        loop.close();
+
+        // Assert
+        assertAll(
+            () -> assertThat(failedDone).isTrue(),
+            () -> assertThat(summary.pending()).isZero(),
+            () -> assertThat(orders.stored).isEmpty()
+        );
+    }
+
+    @Test
+    void shouldKeepStateAndRetryReloadWhenReadAfterFailedWriteFails() throws Exception {
+        // Arrange
+        var orders = new InMemoryOrderRepository();
+        var loop = new DispatchLoop(new InMemoryCourierRepository(), orders, new OrderDispatcherImpl());
+        loop.start(Thread.ofPlatform().factory());
+        loop.registerCourier("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).join();
+        loop.createOrder(UUID.randomUUID(), Location.create(2, 2).getValue(), Volume.create(5).getValue()).join();
+        orders.failWrites = true;
+        orders.failReads = true;
+
+        // Act
+        var failedDone = loop.createOrder(UUID.randomUUID(), Location.create(3, 3).getValue(), Volume.create(5).getValue())
+                .handle((r, e) -> e != null).join();
+        orders.failWrites = false;
+        orders.failReads = false;
+        var summary = loop.dispatch().join();
+        loop.close();
+
+        // Assert
+        assertAll(
+            () -> assertThat(failedDone).isTrue(),
+            () -> assertThat(summary.assigned()).isEqualTo(1),
+            () -> assertThat(summary.pending()).isZero()
+        );
+    }
+
+    @Test
+    void shouldFailAcceptedCommandsWhenWriterStopsOnError() throws Exception {
+        // Arrange
+        UnitOfWork unitOfWork = work -> {
+            throw new AssertionError("writer failed");
+        };
+        var loop = new DispatchLoop(new InMemoryCourierRepository(), new InMemoryOrderRepository(), unitOfWork,
+                new OrderDispatcherImpl(), DispatchLoop.DEFAULT_MAX_COMMANDS_PER_FLUSH, DeliveryMetrics.NOOP);
+        var writer = Thread.ofPlatform().uncaughtExceptionHandler((t, e) -> { }).factory();
+        loop.start(writer);
+
+        // Act
+        var failedDone = loop.createOrder(UUID.randomUUID(), Location.create(2, 2).getValue(), Volume.create(5).getValue())
+                .handle((r, e) -> e != null).join();
+        loop.close();
+
+        // Assert
+        assertAll(
+            () -> assertThat(failedDone).isTrue(),
+            () -> assertThatThrownBy(loop::dispatch).isInstanceOf(IllegalStateException.class)
+        );
+    }
+
+    private static final class InMemoryCourierRepository implements CourierRepository {
+        private final Map<UUID, Courier> stored = new ConcurrentHashMap<>();
+
+        @Override
+        public void add(Courier courier) {
+            stored.put(courier.getId(), courier);
+        }
+
+        @Override
+        public void addAll(Collection<Courier> couriers) {
+            couriers.forEach(this::add);
+        }
+
+        @Override
+        public void update(Courier courier) {
+            stored.put(courier.getId(), courier);
+        }
+
+        @Override
+        public void updateAll(Collection<Courier> couriers) {
+            couriers.forEach(this::update);
+        }
+
+        @Override
+        public Optional<Courier> get(UUID courierId) {
+            return Optional.ofNullable(stored.get(courierId));
+        }
+
+        @Override
+        public List<Courier> getAll() {
+            return List.copyOf(stored.values());
+        }
+    }
+
+    private static final class InMemoryOrderRepository implements OrderRepository {
+        private final Map<UUID, Order> stored = new ConcurrentHashMap<>();
+        private final AtomicInteger writes = new AtomicInteger();
+        private final AtomicInteger gets = new AtomicInteger();
+        private volatile boolean failWrites;
+        private volatile boolean failReads;
+
+        @Override
+        public void add(Order order) {
+            addAll(List.of(order));
+        }
+
+        @Override
+        public void addAll(Collection<Order> orders) {
+            if (failWrites) {
+                throw new IllegalStateException("write failed");
+            }
+            writes.incrementAndGet();
+            orders.forEach(order -> stored.put(order.getId(), order));
+        }
+
+        @Override
+        public void update(Order order) {
+            updateAll(List.of(order));
+        }
+
+        @Override
+        public void updateAll(Collection<Order> orders) {
+            addAll(orders);
+        }
+
+        @Override
+        public Optional<Order> get(UUID orderId) {
+            gets.incrementAndGet();
+            return Optional.ofNullable(stored.get(orderId));
+        }
+
+        @Override
+        public Set<UUID> findExistingIds(Collection<UUID> orderIds) {
+            return orderIds.stream().filter(stored::containsKey).collect(Collectors.toSet());
+        }
+
+        @Override
+        public List<Order> getAllCreated() {
+            if (failReads) {
+                throw new IllegalStateException("read failed");
+            }
+            return stored.values().stream().filter(o -> o.getStatus() == OrderStatus.CREATED).toList();
+        }
+
+        @Override
+        public List<Order> getAllAssigned() {
+            return stored.values().stream().filter(o -> o.getStatus() == OrderStatus.ASSIGNED).toList();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package ru.ddd.delivery.core.application.simulation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import org.junit.jupiter.api.Test;
+
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Speed;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.delivery.core.domain.model.order.OrderStatus;
+import ru.ddd.delivery.core.domain.services.OrderDispatcher;
+import ru.ddd.delivery.core.domain.services.OrderDispatcherImpl;
+import ru.ddd.libs.ddd.DomainEvent;
+import ru.ddd.libs.errs.Error;
+import ru.ddd.libs.errs.Result;
+
+public class DeliverySimulationTest {
+
+    @Test
+    void shouldAssignMoveAndCompleteOrder() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var order = Order.create(UUID.randomUUID(), Location.create(4, 2).getValue(), Volume.create(5).getValue()).getValue();
+        var simulation = new DeliverySimulation(List.of(courier), new OrderDispatcherImpl());
+        simulation.submit(order);
+
+        // Act
+        var first = simulation.tick();
+        var second = simulation.tick();
+        var third = simulation.tick();
+
+        // Assert
+        assertAll(
+            () -> assertThat(first.assigned()).isEqualTo(1),
+            () -> assertThat(first.moved()).isZero(),
+            () -> assertThat(second.moved()).isEqualTo(1),
+            () -> assertThat(second.completed()).isZero(),
+            () -> assertThat(third.completed()).isEqualTo(1),
+            () -> assertThat(order.getStatus()).isEqualTo(OrderStatus.COMPLETED),
+            () -> assertThat(courier.getLocation()).isEqualTo(order.getLocation()),
+            () -> assertThat(courier.findStoragePlace(order.getId())).isEmpty()
+        );
+    }
+
+    @Test
+    void shouldKeepOrderPendingUntilCourierIsFree() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(3).getValue(), Location.create(1, 1).getValue()).getValue();
+        var order1 = Order.create(UUID.randomUUID(), Location.create(2, 1).getValue(), Volume.create(10).getValue()).getValue();
+        var order2 = Order.create(UUID.randomUUID(), Location.create(3, 1).getValue(), Volume.create(10).getValue()).getValue();
+        var simulation = new DeliverySimulation(List.of(courier), new OrderDispatcherImpl());
+        simulation.submit(order1);
+        simulation.submit(order2);
+
+        // Act
+        var first = simulation.tick();
+        var second = simulation.tick();
+
+        // Assert
+        assertAll(
+            () -> assertThat(first.assigned()).isEqualTo(1),
+            () -> assertThat(first.pending()).isEqualTo(1),
+            () -> assertThat(second.completed()).isEqualTo(1),
+            () -> assertThat(second.assigned()).isEqualTo(1),
+            () -> assertThat(second.pending()).isZero(),
+            () -> assertThat(order2.getStatus()).isEqualTo(OrderStatus.ASSIGNED)
+        );
+    }
+
+    @Test
+    void shouldDeliverAllOrdersWithParallelPartitions() {
+        // Arrange
+        var random = new Random(42);
+        List<Courier> couriers = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            couriers.add(Courier.create("k" + i, Speed.create(1 + random.nextInt(3)).getValue(),
+                    Location.create(1 + random.nextInt(10), 1 + random.nextInt(10)).getValue()).getValue());
+        }
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            orders.add(Order.create(UUID.randomUUID(), Location.create(1 + random.nextInt(10), 1 + random.nextInt(10)).getValue(),
+                    Volume.create(1 + random.nextInt(10)).getValue()).getValue());
+        }
+        var simulation = new DeliverySimulation(couriers, new OrderDispatcherImpl(), new ForkJoinPool(4), 16);
+        orders.forEach(simulation::submit);
+
+        // Act
+        int completed = 0;
+        for (int i = 0; i < 200 && completed < orders.size(); i++) {
+            completed += simulation.tick().completed();
+        }
+
+        // Assert
+        int delivered = completed;
+        assertAll(
+            () -> assertThat(delivered).isEqualTo(orders.size()),
+            () -> assertThat(orders).allSatisfy(order -> assertThat(order.getStatus()).isEqualTo(OrderStatus.COMPLETED)),
+            () -> assertThat(couriers).allSatisfy(courier -> assertThat(courier.getMaxFreeVolume()).isEqualTo(10)),
+            () -> assertThat(simulation.getPendingOrderCount()).isZero()
+        );
+    }
+
+    @Test
+    void shouldDropReleasedOrderAndCountFailureWhenOrderCannotBeCompleted() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var order = Order.create(UUID.randomUUID(), Location.create(1, 1).getValue(), Volume.create(5).getValue()).getValue();
+        courier.takeOrder(order);
+        order.assign(courier);
+        var events = new ConcurrentLinkedQueue<DomainEvent>();
+        var simulation = new DeliverySimulation(List.of(courier), new OrderDispatcherImpl(), ForkJoinPool.commonPool(),
+                DeliverySimulation.DEFAULT_PARTITION_SIZE, events::add);
+        simulation.resume(order);
+        order.complete();
+
+        // Act
+        var first = simulation.tick();
+        var second = simulation.tick();
+
+        // Assert
+        assertAll(
+            () -> assertThat(first.completed()).isZero(),
+            () -> assertThat(first.failed()).isEqualTo(1),
+            () -> assertThat(second.moved()).isZero(),
+            () -> assertThat(courier.findStoragePlace(order.getId())).isEmpty(),
+            () -> assertThat(courier.getDomainEvents()).isEmpty(),
+            () -> assertThat(order.getDomainEvents()).isEmpty(),
+            () -> assertThat(events).isNotEmpty()
+        );
+    }
+
+    @Test
+    void shouldKeepTickingAfterScheduledTickFails() throws Exception {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var dispatcher = new OrderDispatcher() {
+            @Override
+            public Result<Courier, Error> dispatch(Order order, List<Courier> couriers) {
+                throw new IllegalStateException("dispatch failed");
+            }
+
+            @Override
+            public Map<UUID, Result<Courier, Error>> dispatchAll(List<Order> orders, List<Courier> couriers) {
+                throw new IllegalStateException("dispatch failed");
+            }
+        };
+        var simulation = new DeliverySimulation(List.of(courier), dispatcher);
+        var scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        // Act
+        try {
+            simulation.submit(Order.create(UUID.randomUUID(), Location.create(2, 2).getValue(), Volume.create(5).getValue()).getValue());
+            var ticks = simulation.start(scheduler, Duration.ofMillis(1));
+            awaitFailures(simulation, 1);
+            simulation.submit(Order.create(UUID.randomUUID(), Location.create(3, 3).getValue(), Volume.create(5).getValue()).getValue());
+            awaitFailures(simulation, 2);
+
+            // Assert
+            assertAll(
+                () -> assertThat(ticks.isDone()).isFalse(),
+                () -> assertThat(simulation.getStatistics().lastFailure()).get()
+                        .extracting(Throwable::getMessage).isEqualTo("dispatch failed")
+            );
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldReportTickDurationPercentiles() {
+        // Arrange
+        var statistics = new TickStatistics(4);
+        for (long duration : new long[] { 100, 500, 200, 400, 300 }) {
+            statistics.record(duration);
+        }
+
+        // Act
+        long p50 = statistics.percentile(50);
+        long p99 = statistics.percentile(99);
+
+        // Assert
+        assertAll(
+            () -> assertThat(statistics.count()).isEqualTo(5),
+            () -> assertThat(p50).isEqualTo(300),
+            () -> assertThat(p99).isEqualTo(500),
+            () -> assertThat(statistics.max()).isEqualTo(500)
+        );
+    }
+
+    private static void awaitFailures(DeliverySimulation simulation, long failures) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (simulation.getStatistics().failureCount() < failures && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(simulation.getStatistics().failureCount()).isGreaterThanOrEqualTo(failures);
+    }
+}
@@ -93,4 +93,36 @@ public class LocationTest {
 
         assertNotNull(exception.getMessage());
     }
+
+    @Test
+    public void shouldReturnSameInstanceWhenCoordinatesAreEqual() {
+        // Arrange
+
+        // Act
+        var first = Location.create(3, 4);
+        var second = Location.create(3, 4);
+
+        // Assert
+        assertAll(
+                () -> assertThat(first).isSameAs(second),
+                () -> assertThat(first.getValue()).isSameAs(second.getValue()),
+                () -> assertThat(Location.create(1, 1).getValue()).isSameAs(Location.MIN_VALUE),
+                () -> assertThat(Location.create(10, 10).getValue()).isSameAs(Location.MAX_VALUE));
+    }
+
+    @Test
+    public void shouldCalculatePrimitiveDistanceLikeBoxedDistance() {
+        // Arrange
+        var source = Location.create(2, 6).getValue();
+        var target = Location.create(4, 9).getValue();
+
+        // Act
+        var result = source.distanceToAsInt(target);
+
+        // Assert
+        assertAll(
+                () -> assertThat(result.isSuccess()).isTrue(),
+                () -> assertEquals(5, result.getValue()),
+                () -> assertThat(result.getValue()).isEqualTo(source.distanceTo(target).getValue()));
+    }
 }
@@ -62,4 +62,33 @@ public class SpeedTest {
         assertThat(result).isFalse();
     }
 
+    @Test
+    public void shouldReturnSameInstanceWhenValuesAreEqual() {
+        // Arrange
+
+        // Act
+        var first = Speed.create(2);
+        var second = Speed.create(2);
+
+        // Assert
+        assertAll(
+                () -> assertThat(first).isSameAs(second),
+                () -> assertThat(first.getValue()).isSameAs(second.getValue()));
+    }
+
+    @Test
+    public void shouldBeEqualWhenValuesAreEqualBeyondCache() {
+        // Arrange
+        var first = Speed.create(100_000).getValue();
+        var second = Speed.create(100_000).getValue();
+
+        // Act
+        var result = first.equals(second);
+
+        // Assert
+        assertAll(
+                () -> assertThat(result).isTrue(),
+                () -> assertThat(first.hashCode()).isEqualTo(second.hashCode()));
+    }
+
 }
@@ -15,6 +15,9 @@ import org.junit.jupiter.params.provider.MethodSource;
 import ru.ddd.delivery.core.domain.model.Location;
 import ru.ddd.delivery.core.domain.model.Speed;
 import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.courier.events.CourierMovedDomainEvent;
+import ru.ddd.delivery.core.domain.model.courier.events.OrderReleasedDomainEvent;
+import ru.ddd.delivery.core.domain.model.courier.events.OrderTakenDomainEvent;
 import ru.ddd.delivery.core.domain.model.order.Order;
 import ru.ddd.delivery.core.domain.model.order.OrderStatus;
 
@@ -238,4 +241,307 @@ public class CourierTest {
             () -> assertThat(result.getValue()).isEqualByComparingTo(Double.valueOf(4.0))
         );
     }
+
+    @Test
+    void shouldCalculatePrimitiveTimeToLocation() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var targetLocation = Location.create(5, 5).getValue();
+        
+        // Act
+        var result = courier.calculateTimeToLocationAsDouble(targetLocation);
+
+        // Assert
+        assertAll(
+            () -> assertThat(result.isSuccess()).isTrue(),
+            () -> assertThat(result.getValue()).isEqualTo(4.0),
+            () -> assertThat(result.getValue()).isEqualTo(courier.calculateTimeToLocation(targetLocation).getValue())
+        );
+    }
+
+    @Test
+    void shouldTakeSmallestSuitableStoragePlace() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        courier.addStoragePlace("van", Volume.create(50).getValue());
+        courier.addStoragePlace("rack", Volume.create(20).getValue());
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(15).getValue()).getValue();
+
+        // Act
+        var result = courier.takeOrder(order);
+
+        // Assert
+        var rack = courier.getStoragePlaces().stream().filter(s -> s.getName().equals("rack")).findFirst().get();
+        assertAll(
+            () -> assertThat(result.isSuccess()).isTrue(),
+            () -> assertThat(rack.getOrderId()).contains(order.getId()),
+            () -> assertThat(courier.getMaxFreeVolume()).isEqualTo(50)
+        );
+    }
+
+    @Test
+    void shouldTrackMaxFreeVolume() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        courier.addStoragePlace("rack", Volume.create(20).getValue());
+        var order1 = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(20).getValue()).getValue();
+        var order2 = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(10).getValue()).getValue();
+
+        // Act
+        courier.takeOrder(order1);
+        int afterFirst = courier.getMaxFreeVolume();
+        courier.takeOrder(order2);
+        int afterSecond = courier.getMaxFreeVolume();
+        courier.completeOrder(order1);
+        int afterComplete = courier.getMaxFreeVolume();
+
+        // Assert
+        assertAll(
+            () -> assertThat(afterFirst).isEqualTo(10),
+            () -> assertThat(afterSecond).isZero(),
+            () -> assertThat(afterComplete).isEqualTo(20)
+        );
+    }
+
+    @Test
+    void shouldTakeFirstSuitableStoragePlaceWithFirstFit() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        courier.addStoragePlace("van", Volume.create(50).getValue());
+        courier.addStoragePlace("rack", Volume.create(20).getValue());
+        courier.changeStoragePlaceAllocation(StoragePlaceAllocation.FIRST_FIT);
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(15).getValue()).getValue();
+
+        // Act
+        var result = courier.takeOrder(order);
+
+        // Assert
+        var van = courier.getStoragePlaces().stream().filter(s -> s.getName().equals("van")).findFirst().get();
+        assertAll(
+            () -> assertThat(result.isSuccess()).isTrue(),
+            () -> assertThat(van.getOrderId()).contains(order.getId())
+        );
+    }
+
+    @Test
+    void shouldTakeLargestStoragePlaceWithWorstFit() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        courier.addStoragePlace("rack", Volume.create(20).getValue());
+        courier.addStoragePlace("van", Volume.create(50).getValue());
+        courier.changeStoragePlaceAllocation(StoragePlaceAllocation.WORST_FIT);
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(5).getValue()).getValue();
+
+        // Act
+        var result = courier.takeOrder(order);
+
+        // Assert
+        var van = courier.getStoragePlaces().stream().filter(s -> s.getName().equals("van")).findFirst().get();
+        assertAll(
+            () -> assertThat(result.isSuccess()).isTrue(),
+            () -> assertThat(van.getOrderId()).contains(order.getId()),
+            () -> assertThat(courier.getMaxFreeVolume()).isEqualTo(20)
+        );
+    }
+
+    @Test
+    void shouldPackSeveralOrdersIntoSharedStoragePlace() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        courier.addSharedStoragePlace("trunk", Volume.create(30).getValue());
+        var order1 = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(10).getValue()).getValue();
+        var order2 = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(10).getValue()).getValue();
+        var order3 = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(10).getValue()).getValue();
+
+        // Act
+        var result1 = courier.takeOrder(order1);
+        var result2 = courier.takeOrder(order2);
+        var result3 = courier.takeOrder(order3);
+        var completeResult = courier.completeOrder(order2);
+
+        // Assert
+        assertAll(
+            () -> assertThat(result1.isSuccess()).isTrue(),
+            () -> assertThat(result2.isSuccess()).isTrue(),
+            () -> assertThat(result3.isSuccess()).isTrue(),
+            () -> assertThat(completeResult.isSuccess()).isTrue(),
+            () -> assertThat(courier.getMaxFreeVolume()).isEqualTo(20)
+        );
+    }
+
+    @Test
+    void shouldFindStoragePlaceOfTakenOrder() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        courier.addStoragePlace("rack", Volume.create(20).getValue());
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(15).getValue()).getValue();
+        courier.takeOrder(order);
+
+        // Act
+        var storagePlace = courier.findStoragePlace(order.getId());
+
+        // Assert
+        assertAll(
+            () -> assertThat(storagePlace).isPresent(),
+            () -> assertThat(storagePlace.get().getName()).isEqualTo("rack"),
+            () -> assertThat(storagePlace.get().contains(order.getId())).isTrue()
+        );
+    }
+
+    @Test
+    void shouldNotTakeSameOrderTwice() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        courier.addStoragePlace("rack", Volume.create(20).getValue());
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(5).getValue()).getValue();
+        courier.takeOrder(order);
+
+        // Act
+        var result = courier.takeOrder(order);
+
+        // Assert
+        assertAll(
+            () -> assertThat(result.isFailure()).isTrue(),
+            () -> assertThat(result.getError().getCode()).isEqualTo("order.is.already.stored"),
+            () -> assertThat(courier.getMaxFreeVolume()).isEqualTo(20)
+        );
+    }
+
+    @Test
+    void shouldListStoredOrdersInErrorWhenOrderIsNotFound() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var storedOrder = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(5).getValue()).getValue();
+        var missingOrder = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(5).getValue()).getValue();
+        courier.takeOrder(storedOrder);
+
+        // Act
+        var result = courier.completeOrder(missingOrder);
+        courier.completeOrder(storedOrder);
+
+        // Assert
+        assertAll(
+            () -> assertThat(courier.hasOrders()).isFalse(),
+            () -> assertThat(result.getError().getCode()).isEqualTo("no.such.order.in.storagePlaces"),
+            () -> assertThat(result.getError().getMessage()).contains(storedOrder.getId().toString())
+        );
+    }
+
+    @Test
+    void shouldRaiseOrderTakenEventWhenOrderIsTaken() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(5).getValue()).getValue();
+
+        // Act
+        courier.takeOrder(order);
+
+        // Assert
+        var events = courier.getDomainEvents();
+        var storagePlaceId = courier.findStoragePlace(order.getId()).orElseThrow().getId();
+        assertAll(
+            () -> assertThat(events).hasSize(1),
+            () -> assertThat(events.get(0)).isInstanceOf(OrderTakenDomainEvent.class),
+            () -> assertThat(((OrderTakenDomainEvent) events.get(0)).getOrderId()).isEqualTo(order.getId()),
+            () -> assertThat(((OrderTakenDomainEvent) events.get(0)).getStoragePlaceId()).isEqualTo(storagePlaceId)
+        );
+    }
+
+    @Test
+    void shouldRaiseBothOrderTakenAndOrderReleasedEventsBeforePull() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(5).getValue()).getValue();
+        courier.takeOrder(order);
+
+        // Act
+        courier.completeOrder(order);
+
+        // Assert
+        var events = courier.getDomainEvents();
+        assertAll(
+            () -> assertThat(events).hasSize(2),
+            () -> assertThat(events.get(0)).isInstanceOf(OrderTakenDomainEvent.class),
+            () -> assertThat(events.get(1)).isInstanceOf(OrderReleasedDomainEvent.class),
+            () -> assertThat(((OrderReleasedDomainEvent) events.get(1)).getOrderId()).isEqualTo(order.getId())
+        );
+    }
+
+    @Test
+    void shouldRaiseOrderReleasedEventWhenOrderTakenEventWasPulled() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(5).getValue()).getValue();
+        courier.takeOrder(order);
+        courier.pullDomainEvents();
+
+        // Act
+        courier.completeOrder(order);
+
+        // Assert
+        var events = courier.getDomainEvents();
+        assertAll(
+            () -> assertThat(events).hasSize(1),
+            () -> assertThat(events.get(0)).isInstanceOf(OrderReleasedDomainEvent.class),
+            () -> assertThat(((OrderReleasedDomainEvent) events.get(0)).getVolume()).isEqualTo(5)
+        );
+    }
+
+    @Test
+    void shouldCoalesceMovesIntoOneEventUntilEventsArePulled() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var target = Location.create(7, 1).getValue();
+
+        // Act
+        courier.move(target);
+        courier.move(target);
+        courier.move(target);
+
+        // Assert
+        var events = courier.pullDomainEvents();
+        var moved = (CourierMovedDomainEvent) events.get(0);
+        assertAll(
+            () -> assertThat(events).hasSize(1),
+            () -> assertThat(moved.getCourierId()).isEqualTo(courier.getId()),
+            () -> assertThat(moved.getFromX()).isEqualTo(1),
+            () -> assertThat(moved.getToX()).isEqualTo(7),
+            () -> assertThat(courier.getDomainEvents()).isEmpty()
+        );
+    }
+
+    @Test
+    void shouldNotCoalesceMovesAcrossOtherEvents() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        courier.addStoragePlace("rack", Volume.create(20).getValue());
+        var order = Order.create(UUID.randomUUID(), Location.create(7, 1).getValue(), Volume.create(5).getValue()).getValue();
+        var target = Location.create(7, 1).getValue();
+
+        // Act
+        courier.move(target);
+        courier.takeOrder(order);
+        courier.move(target);
+
+        // Assert
+        var events = courier.pullDomainEvents();
+        assertAll(
+            () -> assertThat(events).hasSize(3),
+            () -> assertThat(((CourierMovedDomainEvent) events.get(0)).getToX()).isEqualTo(3),
+            () -> assertThat(events.get(1)).isInstanceOf(OrderTakenDomainEvent.class),
+            () -> assertThat(((CourierMovedDomainEvent) events.get(2)).getFromX()).isEqualTo(3)
+        );
+    }
+
+    @Test
+    void shouldNotRaiseMovedEventWhenCourierStaysInPlace() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+
+        // Act
+        courier.move(Location.create(1, 1).getValue());
+
+        // Assert
+        assertThat(courier.getDomainEvents()).isEmpty();
+    }
 }
@@ -144,4 +144,82 @@ public class StoragePlaceTest {
             () -> assertThat(result.getError()).isNotNull()
         );
     }
+
+    @Test
+    void shouldStoreSeveralOrdersInSharedStoragePlace() {
+        // Arrange
+        var storagePlace = StoragePlace.createShared("Backpack", Volume.create(10).getValue()).getValue();
+        var orderId1 = UUID.randomUUID();
+        var orderId2 = UUID.randomUUID();
+
+        // Act
+        var result1 = storagePlace.store(orderId1, Volume.create(3).getValue());
+        var result2 = storagePlace.store(orderId2, Volume.create(5).getValue());
+
+        // Assert
+        assertAll(
+            () -> assertThat(result1.isSuccess()).isTrue(),
+            () -> assertThat(result2.isSuccess()).isTrue(),
+            () -> assertThat(storagePlace.getRemainingVolume()).isEqualTo(2),
+            () -> assertThat(storagePlace.contains(orderId1)).isTrue(),
+            () -> assertThat(storagePlace.getOrderIds()).containsExactlyInAnyOrder(orderId1, orderId2)
+        );
+    }
+
+    @Test
+    void shouldNotStoreInSharedStoragePlaceWhenRemainingVolumeIsExceeded() {
+        // Arrange
+        var storagePlace = StoragePlace.createShared("Backpack", Volume.create(10).getValue()).getValue();
+        storagePlace.store(UUID.randomUUID(), Volume.create(8).getValue());
+
+        // Act
+        var canStore = storagePlace.canStore(Volume.create(3).getValue()).getValue();
+        var result = storagePlace.store(UUID.randomUUID(), Volume.create(3).getValue());
+
+        // Assert
+        assertAll(
+            () -> assertThat(canStore).isFalse(),
+            () -> assertThat(result.isFailure()).isTrue(),
+            () -> assertThat(result.getError().getCode()).isEqualTo("storagePlace.volume.is.exceeded")
+        );
+    }
+
+    @Test
+    void shouldNotStoreSameOrderTwiceInSharedStoragePlace() {
+        // Arrange
+        var storagePlace = StoragePlace.createShared("Backpack", Volume.create(10).getValue()).getValue();
+        var orderId = UUID.randomUUID();
+        storagePlace.store(orderId, Volume.create(2).getValue());
+
+        // Act
+        var result = storagePlace.store(orderId, Volume.create(2).getValue());
+
+        // Assert
+        assertAll(
+            () -> assertThat(result.isFailure()).isTrue(),
+            () -> assertThat(result.getError().getCode()).isEqualTo("order.is.already.stored"),
+            () -> assertThat(storagePlace.getRemainingVolume()).isEqualTo(8)
+        );
+    }
+
+    @Test
+    void shouldReturnVolumeWhenOrderIsClearedFromSharedStoragePlace() {
+        // Arrange
+        var storagePlace = StoragePlace.createShared("Backpack", Volume.create(10).getValue()).getValue();
+        var orderId1 = UUID.randomUUID();
+        var orderId2 = UUID.randomUUID();
+        storagePlace.store(orderId1, Volume.create(4).getValue());
+        storagePlace.store(orderId2, Volume.create(6).getValue());
+
+        // Act
+        var result = storagePlace.clear(orderId1);
+
+        // Assert
+        assertAll(
+            () -> assertThat(result.isSuccess()).isTrue(),
+            () -> assertThat(storagePlace.getRemainingVolume()).isEqualTo(4),
+            () -> assertThat(storagePlace.contains(orderId1)).isFalse(),
+            () -> assertThat(storagePlace.isOccupied()).isTrue()
+        );
+    }
 }
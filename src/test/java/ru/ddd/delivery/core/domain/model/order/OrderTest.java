@@ -15,6 +15,8 @@ import ru.ddd.delivery.core.domain.model.Location;
 import ru.ddd.delivery.core.domain.model.Speed;
 import ru.ddd.delivery.core.domain.model.Volume;
 import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.order.events.OrderAssignedDomainEvent;
+import ru.ddd.delivery.core.domain.model.order.events.OrderCompletedDomainEvent;
 
 public class OrderTest {
     @SuppressWarnings("unused")
@@ -127,4 +129,37 @@ public class OrderTest {
             () -> assertThat(order.getStatus()).isEqualTo(OrderStatus.CREATED)
         );
     }
+
+    @Test
+    void shouldRaiseEventsWhenAssignedAndCompleted() {
+        // Arrange
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(20).getValue()).getValue();
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(5, 5).getValue()).getValue();
+
+        // Act
+        order.assign(courier);
+        order.complete();
+
+        // Assert
+        var events = order.getDomainEvents();
+        assertAll(
+            () -> assertThat(events).hasSize(2),
+            () -> assertThat(events.get(0)).isInstanceOf(OrderAssignedDomainEvent.class),
+            () -> assertThat(((OrderAssignedDomainEvent) events.get(0)).getCourierId()).isEqualTo(courier.getId()),
+            () -> assertThat(events.get(1)).isInstanceOf(OrderCompletedDomainEvent.class),
+            () -> assertThat(((OrderCompletedDomainEvent) events.get(1)).getOrderId()).isEqualTo(order.getId())
+        );
+    }
+
+    @Test
+    void shouldNotRaiseEventWhenCompleteFails() {
+        // Arrange
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(20).getValue()).getValue();
+
+        // Act
+        order.complete();
+
+        // Assert
+        assertThat(order.getDomainEvents()).isEmpty();
+    }
 }
@@ -0,0 +1,191 @@
+package ru.ddd.delivery.core.domain.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Speed;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.delivery.core.domain.model.order.OrderStatus;
+
+public class CourierGridIndexTest {
+
+    @Test
+    void shouldFindFastestCapableCourier() {
+        // Arrange
+        var courier1 = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        courier1.addStoragePlace( "rack", Volume.create(20).getValue());
+        var courier2 = Courier.create("k2", Speed.create(3).getValue(), Location.create(1, 10).getValue()).getValue();
+        courier2.addStoragePlace( "rack", Volume.create(20).getValue());
+        var courier3 = Courier.create("k3", Speed.create(5).getValue(), Location.create(10, 10).getValue()).getValue();
+        var index = new CourierGridIndex();
+        index.addAll(List.of(courier1, courier2, courier3));
+
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(20).getValue()).getValue();
+
+        // Act
+        var result = index.findFastest(order);
+
+        // Assert
+        assertAll(
+            () -> assertThat(result).isPresent(),
+            () -> assertThat(result.get().getId()).isEqualTo(courier2.getId())
+        );
+    }
+
+    @Test
+    void shouldFindNothingWhenNobodyCanTakeOrder() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var index = new CourierGridIndex();
+        index.add(courier);
+
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(20).getValue()).getValue();
+
+        // Act
+        var result = index.findFastest(order);
+
+        // Assert
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void shouldReindexCourierOnMove() {
+        // Arrange
+        var courier1 = Courier.create("k1", Speed.create(1).getValue(), Location.create(1, 1).getValue()).getValue();
+        var courier2 = Courier.create("k2", Speed.create(1).getValue(), Location.create(6, 6).getValue()).getValue();
+        var index = new CourierGridIndex(10, 10, 3);
+        index.addAll(List.of(courier1, courier2));
+
+        var order = Order.create(UUID.randomUUID(), Location.create(10, 10).getValue(), Volume.create(5).getValue()).getValue();
+
+        // Act
+        for (int i = 0; i < 18; i++) {
+            index.move(courier1, Location.create(10, 10).getValue());
+        }
+        var result = index.findFastest(order);
+
+        // Assert
+        assertAll(
+            () -> assertThat(courier1.getLocation()).isEqualTo(Location.create(10, 10).getValue()),
+            () -> assertThat(result.get().getId()).isEqualTo(courier1.getId())
+        );
+    }
+
+    @Test
+    void shouldReindexCourierMovedDirectly() {
+        // Arrange
+        var courier1 = Courier.create("k1", Speed.create(1).getValue(), Location.create(1, 1).getValue()).getValue();
+        var courier2 = Courier.create("k2", Speed.create(1).getValue(), Location.create(6, 6).getValue()).getValue();
+        var index = new CourierGridIndex(10, 10, 3);
+        index.addAll(List.of(courier1, courier2));
+
+        var order = Order.create(UUID.randomUUID(), Location.create(10, 10).getValue(), Volume.create(5).getValue()).getValue();
+
+        // Act
+        for (int i = 0; i < 18; i++) {
+            courier1.move(Location.create(10, 10).getValue());
+        }
+        var result = index.findFastest(order);
+
+        // Assert
+        assertThat(result.get().getId()).isEqualTo(courier1.getId());
+    }
+
+    @Test
+    void shouldStopTrackingRemovedCourier() {
+        // Arrange
+        var courier1 = Courier.create("k1", Speed.create(5).getValue(), Location.create(10, 10).getValue()).getValue();
+        var courier2 = Courier.create("k2", Speed.create(1).getValue(), Location.create(1, 1).getValue()).getValue();
+        var courier3 = Courier.create("k3", Speed.create(1).getValue(), Location.create(9, 9).getValue()).getValue();
+        var index = new CourierGridIndex(10, 10, 2);
+        index.addAll(List.of(courier1, courier2, courier3));
+        index.remove(courier1);
+
+        var order = Order.create(UUID.randomUUID(), Location.create(1, 2).getValue(), Volume.create(5).getValue()).getValue();
+
+        // Act
+        courier1.move(Location.create(1, 1).getValue());
+        var result = index.findFastest(order);
+
+        // Assert
+        assertAll(
+            () -> assertThat(index.contains(courier1)).isFalse(),
+            () -> assertThat(result.get().getId()).isEqualTo(courier2.getId())
+        );
+    }
+
+    @Test
+    void shouldPreferEarlierAddedCourierWhenTimesAreEqual() {
+        // Arrange
+        var courier1 = Courier.create("k1", Speed.create(1).getValue(), Location.create(4, 5).getValue()).getValue();
+        var courier2 = Courier.create("k2", Speed.create(1).getValue(), Location.create(6, 5).getValue()).getValue();
+        var index = new CourierGridIndex();
+        index.addAll(List.of(courier2, courier1));
+
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(5).getValue()).getValue();
+
+        // Act
+        var result = index.findFastest(order);
+
+        // Assert
+        assertThat(result.get().getId()).isEqualTo(courier2.getId());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 3, 10 })
+    void shouldMatchLinearDispatchOnRandomFleet(int cellSize) {
+        // Arrange
+        var random = new Random(cellSize);
+        List<Courier> couriers = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            var courier = Courier.create("k" + i,
+                    Speed.create(1 + random.nextInt(4)).getValue(),
+                    Location.create(1 + random.nextInt(10), 1 + random.nextInt(10)).getValue()).getValue();
+            couriers.add(courier);
+        }
+        var index = new CourierGridIndex(10, 10, cellSize);
+        index.addAll(couriers);
+        var orderDispatcher = new OrderDispatcherImpl();
+
+        for (int i = 0; i < 60; i++) {
+            var location = Location.create(1 + random.nextInt(10), 1 + random.nextInt(10)).getValue();
+            var volume = Volume.create(1 + random.nextInt(10)).getValue();
+            var order = Order.create(UUID.randomUUID(), location, volume).getValue();
+
+            // Act
+            var expected = couriers.stream().filter(c -> c.canTakeOrder(order).isSuccess()).toList();
+            var indexedOrder = Order.create(UUID.randomUUID(), location, volume).getValue();
+            var result = orderDispatcher.dispatch(indexedOrder, index);
+
+            // Assert
+            if (expected.isEmpty()) {
+                assertThat(result.isFailure()).isTrue();
+                continue;
+            }
+            var fastest = expected.get(0);
+            for (var courier : expected) {
+                if (courier.calculateTimeToLocation(location).getValue() < fastest.calculateTimeToLocation(location).getValue()) {
+                    fastest = courier;
+                }
+            }
+            var expectedCourier = fastest;
+            assertAll(
+                () -> assertThat(result.isSuccess()).isTrue(),
+                () -> assertThat(result.getValue().getId()).isEqualTo(expectedCourier.getId()),
+                () -> assertThat(indexedOrder.getStatus()).isEqualTo(OrderStatus.ASSIGNED)
+            );
+        }
+    }
+}
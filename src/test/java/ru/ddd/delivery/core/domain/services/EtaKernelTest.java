@@ -0,0 +1,97 @@
+package ru.ddd.delivery.core.domain.services;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Векторная реализация собирается только в профиле vector: ./mvnw -Pvector test -Dtest=EtaKernelTest.
+ * Без него тесты пропускаются.
+ */
+public class EtaKernelTest {
+
+    private final EtaKernel scalar = ScalarEtaKernel.INSTANCE;
+    private final EtaKernel vector = EtaKernel.vector().orElse(null);
+
+    @BeforeEach
+    void requireVectorKernel() {
+        assumeTrue(vector != null, "VectorEtaKernel is built with -Pvector");
+    }
+
+    @Test
+    void shouldMatchScalarKernelOnRandomFleets() {
+        // Arrange
+        var random = new Random(42);
+
+        for (int run = 0; run < 1_000; run++) {
+            int count = random.nextInt(100);
+            int[] x = new int[count];
+            int[] y = new int[count];
+            int[] speed = new int[count];
+            int[] maxFreeVolume = new int[count];
+            for (int i = 0; i < count; i++) {
+                x[i] = 1 + random.nextInt(10);
+                y[i] = 1 + random.nextInt(10);
+                speed[i] = 1 + random.nextInt(5);
+                maxFreeVolume[i] = random.nextInt(12);
+            }
+            int targetX = 1 + random.nextInt(10);
+            int targetY = 1 + random.nextInt(10);
+            int volume = 1 + random.nextInt(10);
+            int[] scalarEtas = new int[count];
+            int[] vectorEtas = new int[count];
+
+            // Act
+            int scalarBest = scalar.argmin(count, x, y, speed, maxFreeVolume, targetX, targetY, volume);
+            int vectorBest = vector.argmin(count, x, y, speed, maxFreeVolume, targetX, targetY, volume);
+            int scalarAble = scalar.etas(count, x, y, speed, maxFreeVolume, targetX, targetY, volume, scalarEtas);
+            int vectorAble = vector.etas(count, x, y, speed, maxFreeVolume, targetX, targetY, volume, vectorEtas);
+
+            // Assert
+            assertAll(
+                () -> assertThat(vectorBest).isEqualTo(scalarBest),
+                () -> assertThat(vectorAble).isEqualTo(scalarAble),
+                () -> assertThat(vectorEtas).isEqualTo(scalarEtas)
+            );
+        }
+    }
+
+    @Test
+    void shouldPreferFirstRowOnEqualTime() {
+        // Arrange
+        int count = 40;
+        int[] x = new int[count];
+        int[] y = new int[count];
+        int[] speed = new int[count];
+        int[] maxFreeVolume = new int[count];
+        for (int i = 0; i < count; i++) {
+            x[i] = 5;
+            y[i] = 5;
+            speed[i] = 2;
+            maxFreeVolume[i] = i < 17 ? 0 : 10;
+        }
+
+        // Act
+        int best = vector.argmin(count, x, y, speed, maxFreeVolume, 1, 1, 5);
+
+        // Assert
+        assertThat(best).isEqualTo(17);
+    }
+
+    @Test
+    void shouldReturnNoRowWhenNobodyCanTakeOrder() {
+        // Arrange
+        int[] values = { 1, 1, 1 };
+        int[] maxFreeVolume = { 1, 2, 3 };
+
+        // Act
+        int best = vector.argmin(3, values, values, values, maxFreeVolume, 1, 1, 5);
+
+        // Assert
+        assertThat(best).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,140 @@
+package ru.ddd.delivery.core.domain.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Speed;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.delivery.core.domain.model.order.OrderStatus;
+
+public class FleetStoreTest {
+
+    @Test
+    void shouldFindFastestCapableCourier() {
+        // Arrange
+        var courier1 = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        courier1.addStoragePlace("rack", Volume.create(20).getValue());
+        var courier2 = Courier.create("k2", Speed.create(3).getValue(), Location.create(1, 10).getValue()).getValue();
+        courier2.addStoragePlace("rack", Volume.create(20).getValue());
+        var courier3 = Courier.create("k3", Speed.create(5).getValue(), Location.create(10, 10).getValue()).getValue();
+        var fleet = new FleetStore();
+        fleet.addAll(List.of(courier1, courier2, courier3));
+
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(20).getValue()).getValue();
+
+        // Act
+        int row = fleet.findFastest(order);
+
+        // Assert
+        assertAll(
+            () -> assertThat(row).isNotNegative(),
+            () -> assertThat(fleet.courier(row).getId()).isEqualTo(courier2.getId())
+        );
+    }
+
+    @Test
+    void shouldFollowCourierStateChanges() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(1).getValue(), Location.create(1, 1).getValue()).getValue();
+        var fleet = new FleetStore();
+        fleet.add(courier);
+        var order = Order.create(UUID.randomUUID(), Location.create(1, 1).getValue(), Volume.create(5).getValue()).getValue();
+
+        // Act
+        courier.addStoragePlace("rack", Volume.create(20).getValue());
+        courier.takeOrder(order);
+
+        // Assert
+        assertAll(
+            () -> assertThat(fleet.maxFreeVolume(0)).isEqualTo(20),
+            () -> assertThat(fleet.occupancy(0)).isEqualTo(1L)
+        );
+    }
+
+    @Test
+    void shouldKeepRowsConsistentAfterRemove() {
+        // Arrange
+        var courier1 = Courier.create("k1", Speed.create(1).getValue(), Location.create(1, 1).getValue()).getValue();
+        var courier2 = Courier.create("k2", Speed.create(1).getValue(), Location.create(10, 10).getValue()).getValue();
+        var fleet = new FleetStore();
+        fleet.addAll(List.of(courier1, courier2));
+        var order = Order.create(UUID.randomUUID(), Location.create(2, 2).getValue(), Volume.create(5).getValue()).getValue();
+
+        // Act
+        fleet.remove(courier1);
+        courier1.move(Location.create(3, 3).getValue());
+        int row = fleet.findFastest(order);
+
+        // Assert
+        assertAll(
+            () -> assertThat(fleet.size()).isEqualTo(1),
+            () -> assertThat(fleet.courier(row).getId()).isEqualTo(courier2.getId())
+        );
+    }
+
+    @Test
+    void shouldSearchWhileFleetGrowsAndShrinks() {
+        // Arrange
+        List<Courier> couriers = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            var courier = Courier.create("k" + i, Speed.create(1).getValue(), Location.create(1 + i % 10, 1 + i / 10 % 10).getValue()).getValue();
+            courier.addStoragePlace("rack", Volume.create(20).getValue());
+            couriers.add(courier);
+        }
+        var fleet = new FleetStore();
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(5).getValue()).getValue();
+
+        // Act
+        var writer = CompletableFuture.runAsync(() -> {
+            for (int round = 0; round < 20; round++) {
+                fleet.addAll(couriers);
+                couriers.forEach(fleet::remove);
+            }
+        });
+        List<Courier> found = new ArrayList<>();
+        while (!writer.isDone()) {
+            fleet.findFastestCourier(order).ifPresent(found::add);
+        }
+        writer.join();
+
+        // Assert
+        assertAll(
+            () -> assertThat(fleet.size()).isZero(),
+            () -> assertThat(found).allMatch(couriers::contains)
+        );
+    }
+
+    @Test
+    void shouldDispatchOrderThroughFleetStore() {
+        // Arrange
+        var courier1 = Courier.create("k1", Speed.create(1).getValue(), Location.create(1, 1).getValue()).getValue();
+        var courier2 = Courier.create("k2", Speed.create(1).getValue(), Location.create(2, 1).getValue()).getValue();
+        var fleet = new FleetStore();
+        fleet.addAll(List.of(courier1, courier2));
+        var order1 = Order.create(UUID.randomUUID(), Location.create(1, 1).getValue(), Volume.create(5).getValue()).getValue();
+        var order2 = Order.create(UUID.randomUUID(), Location.create(1, 1).getValue(), Volume.create(5).getValue()).getValue();
+        var orderDispatcher = new OrderDispatcherImpl();
+
+        // Act
+        var result1 = orderDispatcher.dispatch(order1, fleet);
+        var result2 = orderDispatcher.dispatch(order2, fleet);
+
+        // Assert
+        assertAll(
+            () -> assertThat(result1.getValue().getId()).isEqualTo(courier1.getId()),
+            () -> assertThat(result2.getValue().getId()).isEqualTo(courier2.getId()),
+            () -> assertThat(order2.getStatus()).isEqualTo(OrderStatus.ASSIGNED),
+            () -> assertThat(fleet.maxFreeVolume(0)).isZero()
+        );
+    }
+}
@@ -0,0 +1,107 @@
+package ru.ddd.delivery.core.domain.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Speed;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.delivery.core.domain.model.order.OrderStatus;
+
+public class OptimalOrderDispatcherTest {
+
+    @Test
+    void shouldMinimizeTotalTravelTime() {
+        // Arrange
+        var courier1 = Courier.create("k1", Speed.create(1).getValue(), Location.create(1, 1).getValue()).getValue();
+        var courier2 = Courier.create("k2", Speed.create(1).getValue(), Location.create(5, 1).getValue()).getValue();
+        List<Courier> couriers = List.of(courier1, courier2);
+
+        var order1 = Order.create(UUID.randomUUID(), Location.create(3, 1).getValue(), Volume.create(10).getValue()).getValue();
+        var order2 = Order.create(UUID.randomUUID(), Location.create(2, 1).getValue(), Volume.create(10).getValue()).getValue();
+        OrderDispatcher orderDispatcher = new OptimalOrderDispatcher(Duration.ofSeconds(10));
+
+        // Act
+        var results = orderDispatcher.dispatchAll(List.of(order1, order2), couriers);
+
+        // Assert
+        assertAll(
+            () -> assertThat(results.get(order1.getId()).getValue().getId()).isEqualTo(courier2.getId()),
+            () -> assertThat(results.get(order2.getId()).getValue().getId()).isEqualTo(courier1.getId()),
+            () -> assertThat(order1.getStatus()).isEqualTo(OrderStatus.ASSIGNED),
+            () -> assertThat(order2.getStatus()).isEqualTo(OrderStatus.ASSIGNED)
+        );
+    }
+
+    @Test
+    void shouldRespectStoragePlaceVolumes() {
+        // Arrange
+        var courier1 = Courier.create("k1", Speed.create(1).getValue(), Location.create(1, 1).getValue()).getValue();
+        courier1.addStoragePlace( "rack", Volume.create(20).getValue());
+        var courier2 = Courier.create("k2", Speed.create(1).getValue(), Location.create(10, 10).getValue()).getValue();
+        List<Courier> couriers = List.of(courier1, courier2);
+
+        var smallOrder = Order.create(UUID.randomUUID(), Location.create(1, 1).getValue(), Volume.create(5).getValue()).getValue();
+        var largeOrder = Order.create(UUID.randomUUID(), Location.create(1, 2).getValue(), Volume.create(20).getValue()).getValue();
+        var anotherSmallOrder = Order.create(UUID.randomUUID(), Location.create(2, 1).getValue(), Volume.create(5).getValue()).getValue();
+        OrderDispatcher orderDispatcher = new OptimalOrderDispatcher(Duration.ofSeconds(10));
+
+        // Act
+        var results = orderDispatcher.dispatchAll(List.of(smallOrder, largeOrder, anotherSmallOrder), couriers);
+
+        // Assert
+        assertAll(
+            () -> assertThat(results.values()).allMatch(r -> r.isSuccess()),
+            () -> assertThat(results.get(largeOrder.getId()).getValue().getId()).isEqualTo(courier1.getId()),
+            () -> assertThat(courier1.canTakeOrder(smallOrder).isFailure()).isTrue(),
+            () -> assertThat(courier2.canTakeOrder(smallOrder).isFailure()).isTrue()
+        );
+    }
+
+    @Test
+    void shouldFallBackToGreedyWhenTimeBudgetIsExhausted() {
+        // Arrange
+        var courier1 = Courier.create("k1", Speed.create(1).getValue(), Location.create(1, 1).getValue()).getValue();
+        var courier2 = Courier.create("k2", Speed.create(1).getValue(), Location.create(5, 1).getValue()).getValue();
+        List<Courier> couriers = List.of(courier1, courier2);
+
+        var order1 = Order.create(UUID.randomUUID(), Location.create(3, 1).getValue(), Volume.create(10).getValue()).getValue();
+        var order2 = Order.create(UUID.randomUUID(), Location.create(2, 1).getValue(), Volume.create(10).getValue()).getValue();
+        OrderDispatcher orderDispatcher = new OptimalOrderDispatcher(Duration.ZERO);
+
+        // Act
+        var results = orderDispatcher.dispatchAll(List.of(order1, order2), couriers);
+
+        // Assert
+        assertAll(
+            () -> assertThat(results.get(order1.getId()).getValue().getId()).isEqualTo(courier1.getId()),
+            () -> assertThat(results.get(order2.getId()).getValue().getId()).isEqualTo(courier2.getId())
+        );
+    }
+
+    @Test
+    void shouldNotDispatchOrdersThatAreNotCreated() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(1).getValue(), Location.create(1, 1).getValue()).getValue();
+        var order = Order.create(UUID.randomUUID(), Location.create(3, 1).getValue(), Volume.create(5).getValue()).getValue();
+        order.assign(courier);
+        OrderDispatcher orderDispatcher = new OptimalOrderDispatcher();
+
+        // Act
+        var results = orderDispatcher.dispatchAll(List.of(order), List.of(courier));
+
+        // Assert
+        assertAll(
+            () -> assertThat(results.get(order.getId()).isFailure()).isTrue(),
+            () -> assertThat(results.get(order.getId()).getError().getCode()).isEqualTo("order.not.in.created.status")
+        );
+    }
+}
@@ -0,0 +1,101 @@
+package ru.ddd.delivery.core.domain.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Speed;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.courier.StoragePlace;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.delivery.core.domain.model.order.OrderStatus;
+import ru.ddd.libs.errs.Error;
+import ru.ddd.libs.errs.Result;
+
+/**
+ * Стресс-тест параллельного распределения: курьер занимает место под своим монитором, а не через CAS,
+ * и проверяется, что ни один заказ не попадает в хранилище дважды. Масштабирование по ядрам
+ * измеряет ConcurrentDispatchBenchmark, а не этот тест.
+ */
+public class OrderDispatcherConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int COURIERS = 100;
+    private static final int ORDERS = 500;
+
+    @Test
+    void shouldNeverStoreOrderTwiceWhenDispatchedConcurrently() throws InterruptedException {
+        // Arrange
+        var random = new Random(7);
+        List<Courier> couriers = new ArrayList<>();
+        for (int i = 0; i < COURIERS; i++) {
+            var courier = Courier.create("k" + i,
+                    Speed.create(1 + random.nextInt(3)).getValue(),
+                    Location.create(1 + random.nextInt(10), 1 + random.nextInt(10)).getValue()).getValue();
+            courier.addStoragePlace("rack", Volume.create(20).getValue());
+            couriers.add(courier);
+        }
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(Order.create(UUID.randomUUID(),
+                    Location.create(1 + random.nextInt(10), 1 + random.nextInt(10)).getValue(),
+                    Volume.create(1 + random.nextInt(10)).getValue()).getValue());
+        }
+        OrderDispatcher orderDispatcher = new OrderDispatcherImpl();
+        var successes = new ConcurrentLinkedQueue<Map.Entry<Order, Result<Courier, Error>>>();
+        var start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // Act
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t / 2;
+            executor.submit(() -> {
+                start.await();
+                // Пары потоков проходят одни и те же заказы, чтобы каждый заказ распределялся дважды одновременно
+                for (int i = offset; i < ORDERS; i += THREADS / 2) {
+                    var order = orders.get(i);
+                    var result = orderDispatcher.dispatch(order, couriers);
+                    if (result.isSuccess()) {
+                        successes.add(Map.entry(order, result));
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        // Assert
+        Map<UUID, Integer> storedTimes = new HashMap<>();
+        for (Courier courier : couriers) {
+            for (StoragePlace storagePlace : courier.getStoragePlaces()) {
+                storagePlace.getOrderId().ifPresent(orderId -> storedTimes.merge(orderId, 1, Integer::sum));
+            }
+        }
+        long assignedOrders = orders.stream().filter(o -> o.getStatus() == OrderStatus.ASSIGNED).count();
+
+        assertAll(
+            () -> assertThat(storedTimes.values()).allMatch(times -> times == 1),
+            () -> assertThat(storedTimes).hasSize((int) assignedOrders),
+            () -> assertThat(successes).hasSize((int) assignedOrders),
+            () -> assertThat(successes).allMatch(s -> s.getValue().getValue().getId().equals(s.getKey().getCourierId())),
+            () -> assertThat(successes).allMatch(s -> storedTimes.containsKey(s.getKey().getId()))
+        );
+    }
+}
@@ -1,10 +1,14 @@
 package ru.ddd.delivery.core.domain.services;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
@@ -93,8 +97,146 @@ public class OrderDispatcherTest {
         // Assert
         assertAll(
             () -> assertThat(result.isFailure()).isTrue(),
-            () -> assertThat(result.getError()).isNotNull()
+            () -> assertThat(result.getError().getCode()).isEqualTo("order.not.in.created.status"),
+            () -> assertThat(courier2.getDomainEvents()).isEmpty()
         );
     }
 
+    @Test
+    void shouldDispatchAllOrdersToFastestCapableCouriers() {
+        // Arrange
+        var courier1 = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var courier2 = Courier.create("k2", Speed.create(3).getValue(), Location.create(5, 5).getValue()).getValue();
+        List<Courier> couriers = List.of(courier1, courier2);
+
+        var order1 = Order.create(UUID.randomUUID(), Location.create(5, 6).getValue(), Volume.create(10).getValue()).getValue();
+        var order2 = Order.create(UUID.randomUUID(), Location.create(5, 6).getValue(), Volume.create(10).getValue()).getValue();
+        var order3 = Order.create(UUID.randomUUID(), Location.create(5, 6).getValue(), Volume.create(10).getValue()).getValue();
+        OrderDispatcher orderDispatcher = new OrderDispatcherImpl();
+
+        // Act
+        var results = orderDispatcher.dispatchAll(List.of(order1, order2, order3), couriers);
+
+        // Assert
+        assertAll(
+            () -> assertThat(results).containsOnlyKeys(order1.getId(), order2.getId(), order3.getId()),
+            () -> assertThat(results.get(order1.getId()).getValue().getId()).isEqualTo(courier2.getId()),
+            () -> assertThat(results.get(order2.getId()).getValue().getId()).isEqualTo(courier1.getId()),
+            () -> assertThat(results.get(order3.getId()).isFailure()).isTrue(),
+            () -> assertThat(order1.getStatus()).isEqualTo(OrderStatus.ASSIGNED),
+            () -> assertThat(order2.getStatus()).isEqualTo(OrderStatus.ASSIGNED),
+            () -> assertThat(order3.getStatus()).isEqualTo(OrderStatus.CREATED)
+        );
+    }
+
+    @Test
+    void shouldRefreshCourierCapacityWhenTakeFailsInBatch() {
+        // Arrange
+        var courier1 = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var courier2 = Courier.create("k2", Speed.create(3).getValue(), Location.create(5, 5).getValue()).getValue();
+        var courier3 = Courier.create("k3", Speed.create(1).getValue(), Location.create(10, 10).getValue()).getValue();
+        List<Courier> couriers = List.of(courier1, courier2, courier3);
+        var elsewhere = Order.create(UUID.randomUUID(), Location.create(1, 1).getValue(), Volume.create(10).getValue()).getValue();
+        // Место у courier1 занимают в обход пакета, как только courier2 возьмёт первый заказ
+        courier2.addStateListener(c -> {
+            if (!courier1.hasOrders()) {
+                courier1.takeOrder(elsewhere);
+            }
+        });
+
+        var order1 = Order.create(UUID.randomUUID(), Location.create(5, 6).getValue(), Volume.create(10).getValue()).getValue();
+        var order2 = Order.create(UUID.randomUUID(), Location.create(5, 6).getValue(), Volume.create(10).getValue()).getValue();
+        var order3 = Order.create(UUID.randomUUID(), Location.create(5, 6).getValue(), Volume.create(10).getValue()).getValue();
+        OrderDispatcher orderDispatcher = new OrderDispatcherImpl();
+
+        // Act
+        var results = orderDispatcher.dispatchAll(List.of(order1, order2, order3), couriers);
+
+        // Assert
+        assertAll(
+            () -> assertThat(results.get(order1.getId()).getValue().getId()).isEqualTo(courier2.getId()),
+            () -> assertThat(results.get(order2.getId()).isFailure()).isTrue(),
+            () -> assertThat(results.get(order3.getId()).getValue().getId()).isEqualTo(courier3.getId())
+        );
+    }
+
+    @Test
+    void shouldRejectBatchWithDuplicateOrders() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 6).getValue(), Volume.create(10).getValue()).getValue();
+        OrderDispatcher orderDispatcher = new OrderDispatcherImpl();
+
+        // Act & Assert
+        assertAll(
+            () -> assertThatThrownBy(() -> orderDispatcher.dispatchAll(List.of(order, order), List.of(courier)))
+                    .isInstanceOf(IllegalArgumentException.class),
+            () -> assertThat(order.getStatus()).isEqualTo(OrderStatus.CREATED),
+            () -> assertThat(courier.hasOrders()).isFalse()
+        );
+    }
+
+    @Test
+    void shouldDispatchAllLikeSingleDispatch() {
+        // Arrange
+        var courier1 = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        courier1.addStoragePlace( "rack", Volume.create(20).getValue());
+        var courier2 = Courier.create("k2", Speed.create(3).getValue(), Location.create(1, 10).getValue()).getValue();
+        courier2.addStoragePlace( "rack", Volume.create(20).getValue());
+        var courier3 = Courier.create("k3", Speed.create(5).getValue(), Location.create(10, 10).getValue()).getValue();
+        List<Courier> couriers = List.of(courier1, courier2, courier3);
+
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(20).getValue()).getValue();
+        var assignedOrder = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(5).getValue()).getValue();
+        assignedOrder.assign(courier1);
+        OrderDispatcher orderDispatcher = new OrderDispatcherImpl();
+
+        // Act
+        var results = orderDispatcher.dispatchAll(List.of(order, assignedOrder), couriers);
+
+        // Assert
+        assertAll(
+            () -> assertThat(results.get(order.getId()).getValue().getId()).isEqualTo(courier2.getId()),
+            () -> assertThat(results.get(assignedOrder.getId()).isFailure()).isTrue()
+        );
+    }
+
+    @Test
+    void shouldDispatchInParallelLikeSequentially() {
+        // Arrange
+        List<Courier> sequentialCouriers = randomFleet(5_000, 11);
+        List<Courier> parallelCouriers = randomFleet(5_000, 11);
+        OrderDispatcher sequentialDispatcher = new OrderDispatcherImpl();
+        OrderDispatcher parallelDispatcher = new OrderDispatcherImpl(1, new ForkJoinPool(4));
+        var random = new Random(13);
+
+        for (int i = 0; i < 200; i++) {
+            var location = Location.create(1 + random.nextInt(10), 1 + random.nextInt(10)).getValue();
+            var volume = Volume.create(1 + random.nextInt(10)).getValue();
+            var sequentialOrder = Order.create(UUID.randomUUID(), location, volume).getValue();
+            var parallelOrder = Order.create(UUID.randomUUID(), location, volume).getValue();
+
+            // Act
+            var sequentialResult = sequentialDispatcher.dispatch(sequentialOrder, sequentialCouriers);
+            var parallelResult = parallelDispatcher.dispatch(parallelOrder, parallelCouriers);
+
+            // Assert
+            assertAll(
+                () -> assertThat(parallelResult.isSuccess()).isEqualTo(sequentialResult.isSuccess()),
+                () -> assertThat(parallelResult.getValue().getName()).isEqualTo(sequentialResult.getValue().getName())
+            );
+        }
+    }
+
+    private static List<Courier> randomFleet(int size, long seed) {
+        var random = new Random(seed);
+        List<Courier> couriers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            couriers.add(Courier.create("k" + i,
+                    Speed.create(1 + random.nextInt(3)).getValue(),
+                    Location.create(1 + random.nextInt(10), 1 + random.nextInt(10)).getValue()).getValue());
+        }
+        return couriers;
+    }
+
 }
@@ -0,0 +1,138 @@
+package ru.ddd.delivery.core.domain.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import ru.ddd.delivery.core.domain.model.Location;
+import ru.ddd.delivery.core.domain.model.Speed;
+import ru.ddd.delivery.core.domain.model.Volume;
+import ru.ddd.delivery.core.domain.model.courier.Courier;
+import ru.ddd.delivery.core.domain.model.order.Order;
+import ru.ddd.delivery.core.domain.model.order.OrderStatus;
+
+public class PendingOrdersTest {
+
+    @Test
+    void shouldNotRetryWhileNoCapacityIsReleased() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var pendingOrders = new PendingOrders();
+        pendingOrders.watch(courier);
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(20).getValue()).getValue();
+        pendingOrders.park(order);
+
+        // Act
+        var assigned = pendingOrders.redispatch();
+
+        // Assert
+        assertAll(
+            () -> assertThat(assigned).isEmpty(),
+            () -> assertThat(pendingOrders.size()).isEqualTo(1),
+            () -> assertThat(order.getStatus()).isEqualTo(OrderStatus.CREATED)
+        );
+    }
+
+    @Test
+    void shouldAssignParkedOrderWhenStoragePlaceIsAdded() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var pendingOrders = new PendingOrders();
+        pendingOrders.watch(courier);
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(20).getValue()).getValue();
+        pendingOrders.park(order);
+
+        // Act
+        courier.addStoragePlace("rack", Volume.create(20).getValue());
+        var assigned = pendingOrders.redispatch();
+
+        // Assert
+        assertAll(
+            () -> assertThat(assigned).containsExactly(order),
+            () -> assertThat(pendingOrders.size()).isZero(),
+            () -> assertThat(order.getStatus()).isEqualTo(OrderStatus.ASSIGNED),
+            () -> assertThat(order.getCourierId()).isEqualTo(courier.getId())
+        );
+    }
+
+    @Test
+    void shouldPreferNearestOrderThatFitsReleasedPlace() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(1).getValue(), Location.create(1, 1).getValue()).getValue();
+        var busy = Order.create(UUID.randomUUID(), Location.create(1, 1).getValue(), Volume.create(10).getValue()).getValue();
+        courier.takeOrder(busy);
+        busy.assign(courier);
+
+        var pendingOrders = new PendingOrders();
+        pendingOrders.watch(courier);
+        var far = Order.create(UUID.randomUUID(), Location.create(9, 9).getValue(), Volume.create(5).getValue()).getValue();
+        var near = Order.create(UUID.randomUUID(), Location.create(2, 2).getValue(), Volume.create(5).getValue()).getValue();
+        var tooLarge = Order.create(UUID.randomUUID(), Location.create(1, 2).getValue(), Volume.create(15).getValue()).getValue();
+        pendingOrders.park(far);
+        pendingOrders.park(near);
+        pendingOrders.park(tooLarge);
+
+        // Act
+        courier.completeOrder(busy);
+        var assigned = pendingOrders.redispatch();
+
+        // Assert
+        assertAll(
+            () -> assertThat(assigned).containsExactly(near),
+            () -> assertThat(pendingOrders.size()).isEqualTo(2),
+            () -> assertThat(far.getStatus()).isEqualTo(OrderStatus.CREATED),
+            () -> assertThat(tooLarge.getStatus()).isEqualTo(OrderStatus.CREATED)
+        );
+    }
+
+    @Test
+    void shouldAssignOrderParkedAfterCapacityWasReleased() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(1).getValue(), Location.create(1, 1).getValue()).getValue();
+        var busy = Order.create(UUID.randomUUID(), Location.create(1, 1).getValue(), Volume.create(10).getValue()).getValue();
+        courier.takeOrder(busy);
+        busy.assign(courier);
+        var pendingOrders = new PendingOrders();
+        pendingOrders.watch(courier);
+        courier.completeOrder(busy);
+        var order = Order.create(UUID.randomUUID(), Location.create(2, 2).getValue(), Volume.create(5).getValue()).getValue();
+
+        // Act
+        pendingOrders.park(order);
+        var assigned = pendingOrders.redispatch();
+
+        // Assert
+        assertAll(
+            () -> assertThat(assigned).containsExactly(order),
+            () -> assertThat(pendingOrders.size()).isZero(),
+            () -> assertThat(order.getCourierId()).isEqualTo(courier.getId())
+        );
+    }
+
+    @Test
+    void shouldDropOrdersAssignedElsewhere() {
+        // Arrange
+        var courier = Courier.create("k1", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var other = Courier.create("k2", Speed.create(2).getValue(), Location.create(1, 1).getValue()).getValue();
+        var pendingOrders = new PendingOrders();
+        pendingOrders.watchAll(List.of(courier));
+        var order = Order.create(UUID.randomUUID(), Location.create(5, 5).getValue(), Volume.create(20).getValue()).getValue();
+        pendingOrders.park(order);
+        order.assign(other);
+
+        // Act
+        courier.addStoragePlace("rack", Volume.create(20).getValue());
+        var assigned = pendingOrders.redispatch();
+
+        // Assert
+        assertAll(
+            () -> assertThat(assigned).isEmpty(),
+            () -> assertThat(pendingOrders.size()).isZero(),
+            () -> assertThat(courier.getMaxFreeVolume()).isEqualTo(20)
+        );
+    }
+}
@@ -0,0 +1,101 @@
+package ru.ddd.libs.ddd;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+public class CoarseClockTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T12:00:00Z");
+
+    /**
+     * Источник времени, который тест двигает вручную.
+     */
+    private static final class ManualClock extends Clock {
+        private volatile Instant instant;
+
+        private ManualClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    @Test
+    void shouldAdvanceOnTick() throws InterruptedException {
+        // Arrange
+        var source = new ManualClock(NOW);
+        try (var clock = new CoarseClock(source, Duration.ofMillis(1))) {
+            Instant initial = clock.instant();
+
+            // Act
+            source.instant = NOW.plusSeconds(1);
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (!clock.instant().equals(source.instant) && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+
+            // Assert
+            assertAll(
+                () -> assertThat(initial).isEqualTo(NOW),
+                () -> assertThat(clock.instant()).isEqualTo(NOW.plusSeconds(1)),
+                () -> assertThat(clock.millis()).isEqualTo(NOW.plusSeconds(1).toEpochMilli())
+            );
+        }
+    }
+
+    @Test
+    void shouldKeepCachedInstantOutsideTick() {
+        // Arrange
+        var source = new ManualClock(NOW);
+        try (var clock = new CoarseClock(source, Duration.ofHours(1))) {
+
+            // Act
+            source.instant = NOW.plusSeconds(1);
+
+            // Assert
+            assertThat(clock.instant()).isEqualTo(NOW);
+        }
+    }
+
+    @Test
+    void shouldReturnZoneAdjustedView() {
+        // Arrange
+        var zone = ZoneId.of("Europe/Moscow");
+        var source = new ManualClock(NOW);
+        try (var clock = new CoarseClock(source, Duration.ofHours(1))) {
+
+            // Act
+            Clock zoned = clock.withZone(zone);
+
+            // Assert
+            assertAll(
+                () -> assertThat(clock.withZone(ZoneOffset.UTC)).isSameAs(clock),
+                () -> assertThat(zoned.getZone()).isEqualTo(zone),
+                () -> assertThat(zoned.instant()).isEqualTo(clock.instant()),
+                () -> assertThat(zoned.millis()).isEqualTo(clock.millis()),
+                () -> assertThat(zoned.withZone(ZoneOffset.UTC)).isSameAs(clock)
+            );
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package ru.ddd.libs.ddd;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class TimeOrderedIdGeneratorTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T12:00:00Z");
+
+    /**
+     * Часы, которые тест двигает вручную.
+     */
+    private static final class ManualClock extends Clock {
+        private volatile long millis;
+
+        private ManualClock(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+    }
+
+    @Test
+    void shouldSetVersionVariantAndTimestamp() {
+        // Arrange
+        var generator = new TimeOrderedIdGenerator(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // Act
+        UUID id = generator.next();
+
+        // Assert
+        assertAll(
+            () -> assertThat(id.version()).isEqualTo(7),
+            () -> assertThat(id.variant()).isEqualTo(2),
+            () -> assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(NOW.toEpochMilli())
+        );
+    }
+
+    @Test
+    void shouldIncreaseWithinOneMillisecond() {
+        // Arrange
+        var generator = new TimeOrderedIdGenerator(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // Act
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.next());
+        }
+
+        // Assert
+        assertAll(
+            () -> assertThat(ids).isSortedAccordingTo(TimeOrderedIdGeneratorTest::compareUnsigned),
+            () -> assertThat(Set.copyOf(ids)).hasSize(ids.size()),
+            () -> assertThat(ids).allMatch(id -> id.version() == 7)
+        );
+    }
+
+    @Test
+    void shouldIncreaseAcrossMillisecondsEvenWhenClockGoesBack() {
+        // Arrange
+        var clock = new ManualClock(NOW.toEpochMilli());
+        var generator = new TimeOrderedIdGenerator(clock);
+
+        // Act
+        UUID first = generator.next();
+        clock.millis += 1;
+        UUID second = generator.next();
+        clock.millis -= 5;
+        UUID third = generator.next();
+
+        // Assert
+        assertAll(
+            () -> assertThat(compareUnsigned(first, second)).isNegative(),
+            () -> assertThat(compareUnsigned(second, third)).isNegative(),
+            () -> assertThat(second.getMostSignificantBits() >>> 16).isEqualTo(NOW.toEpochMilli() + 1)
+        );
+    }
+
+    @Test
+    void shouldGenerateUniqueIdsAcrossThreads() throws InterruptedException {
+        // Arrange
+        var generator = new TimeOrderedIdGenerator();
+        int threads = 8;
+        int idsPerThread = 20_000;
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        var start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < idsPerThread; i++) {
+                    ids.add(generator.next());
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        // Assert
+        assertThat(ids).hasSize(threads * idsPerThread);
+    }
+
+    private static int compareUnsigned(UUID left, UUID right) {
+        int compare = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return compare != 0 ? compare : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+}
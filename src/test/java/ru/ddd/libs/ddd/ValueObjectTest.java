@@ -0,0 +1,68 @@
+package ru.ddd.libs.ddd;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class ValueObjectTest {
+
+    private static final class GenericPoint extends ValueObject<GenericPoint> {
+        private final int x;
+        private final int y;
+
+        private GenericPoint(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        protected Iterable<Object> equalityComponents() {
+            return List.of(x, y);
+        }
+    }
+
+    private static final class PrimitivePoint extends IntValueObject<PrimitivePoint> {
+        private final int x;
+        private final int y;
+
+        private PrimitivePoint(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        protected int intComponentCount() {
+            return 2;
+        }
+
+        @Override
+        protected int intComponent(int index) {
+            return index == 0 ? x : y;
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "1, 2, 1, 2", "1, 2, 2, 1", "3, 4, 3, 5", "-7, 0, 7, 0" })
+    void shouldBehaveTheSameWithPrimitiveComponents(int x1, int y1, int x2, int y2) {
+        // Arrange
+        var generic1 = new GenericPoint(x1, y1);
+        var generic2 = new GenericPoint(x2, y2);
+        var primitive1 = new PrimitivePoint(x1, y1);
+        var primitive2 = new PrimitivePoint(x2, y2);
+
+        // Act & Assert
+        assertAll(
+            () -> assertThat(primitive1.equals(primitive2)).isEqualTo(generic1.equals(generic2)),
+            () -> assertThat(primitive1.hashCode()).isEqualTo(generic1.hashCode()),
+            () -> assertThat(primitive1.hashCode()).isEqualTo(Objects.hash(x1, y1)),
+            () -> assertThat(Integer.signum(primitive1.compareTo(primitive2)))
+                    .isEqualTo(Integer.signum(generic1.compareTo(generic2))),
+            () -> assertThat(primitive1.toString()).isEqualTo("PrimitivePoint[" + x1 + ", " + y1 + "]")
+        );
+    }
+}
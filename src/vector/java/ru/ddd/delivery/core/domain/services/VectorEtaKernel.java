@@ -0,0 +1,114 @@
+package ru.ddd.delivery.core.domain.services;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Векторная реализация: строки обрабатываются пачками по ширине SIMD-регистра, хвост - одной итерацией под маской.
+ * Целочисленного векторного деления в железе нет, поэтому расстояние делится на скорость во float и отбрасывается
+ * дробная часть. Для координат {@link ru.ddd.delivery.core.domain.model.Location} (расстояние не больше 18) это точно:
+ * ошибка округления частного много меньше расстояния до ближайшего целого.
+ * <p>
+ * В argmin каждая дорожка хранит своё лучшее время и строку, обновляясь только при строго меньшем времени,
+ * поэтому при равенстве остаётся меньшая строка; в конце дорожки сводятся с тем же правилом.
+ */
+final class VectorEtaKernel implements EtaKernel {
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+
+    VectorEtaKernel() {
+        if (INTS.length() != FLOATS.length()) {
+            throw new LinkageError("Int and float vector shapes differ");
+        }
+    }
+
+    @Override
+    public int etas(int count, int[] x, int[] y, int[] speed, int[] maxFreeVolume,
+                    int targetX, int targetY, int volume, int[] etas) {
+        IntVector notAble = IntVector.broadcast(INTS, NOT_ABLE);
+        int able = 0;
+        int row = 0;
+        for (int bound = INTS.loopBound(count); row < bound; row += INTS.length()) {
+            VectorMask<Integer> feasible = IntVector.fromArray(INTS, maxFreeVolume, row).compare(VectorOperators.GE, volume);
+            IntVector time = time(distance(row, x, y, targetX, targetY), IntVector.fromArray(INTS, speed, row));
+            notAble.blend(time, feasible).intoArray(etas, row);
+            able += feasible.trueCount();
+        }
+        if (row < count) {
+            VectorMask<Integer> inRange = INTS.indexInRange(row, count);
+            VectorMask<Integer> feasible = feasibleTail(row, maxFreeVolume, volume, inRange);
+            IntVector time = timeTail(row, x, y, speed, targetX, targetY, inRange);
+            notAble.blend(time, feasible).intoArray(etas, row, inRange);
+            able += feasible.trueCount();
+        }
+        return able;
+    }
+
+    @Override
+    public int argmin(int count, int[] x, int[] y, int[] speed, int[] maxFreeVolume,
+                      int targetX, int targetY, int volume) {
+        IntVector lanes = IntVector.zero(INTS).addIndex(1);
+        IntVector bestTime = IntVector.broadcast(INTS, NOT_ABLE);
+        IntVector bestRow = IntVector.broadcast(INTS, -1);
+        int row = 0;
+        for (int bound = INTS.loopBound(count); row < bound; row += INTS.length()) {
+            VectorMask<Integer> feasible = IntVector.fromArray(INTS, maxFreeVolume, row).compare(VectorOperators.GE, volume);
+            IntVector time = time(distance(row, x, y, targetX, targetY), IntVector.fromArray(INTS, speed, row));
+            VectorMask<Integer> better = time.compare(VectorOperators.LT, bestTime, feasible);
+            bestTime = bestTime.blend(time, better);
+            bestRow = bestRow.blend(lanes.add(row), better);
+        }
+        if (row < count) {
+            VectorMask<Integer> inRange = INTS.indexInRange(row, count);
+            VectorMask<Integer> feasible = feasibleTail(row, maxFreeVolume, volume, inRange);
+            IntVector time = timeTail(row, x, y, speed, targetX, targetY, inRange);
+            VectorMask<Integer> better = time.compare(VectorOperators.LT, bestTime, feasible);
+            bestTime = bestTime.blend(time, better);
+            bestRow = bestRow.blend(lanes.add(row), better);
+        }
+
+        int[] times = bestTime.toArray();
+        int[] rows = bestRow.toArray();
+        int best = -1;
+        int bestValue = NOT_ABLE;
+        for (int lane = 0; lane < rows.length; lane++) {
+            int candidate = rows[lane];
+            if (candidate < 0) {
+                continue;
+            }
+            if (times[lane] < bestValue || (times[lane] == bestValue && candidate < best)) {
+                best = candidate;
+                bestValue = times[lane];
+            }
+        }
+        return best;
+    }
+
+    private static IntVector distance(int row, int[] x, int[] y, int targetX, int targetY) {
+        return IntVector.fromArray(INTS, x, row).sub(targetX).abs()
+                .add(IntVector.fromArray(INTS, y, row).sub(targetY).abs());
+    }
+
+    private static IntVector time(IntVector distance, IntVector speed) {
+        FloatVector quotient = ((FloatVector) distance.convert(VectorOperators.I2F, 0))
+                .div((FloatVector) speed.convert(VectorOperators.I2F, 0));
+        return (IntVector) quotient.convert(VectorOperators.F2I, 0);
+    }
+
+    private static VectorMask<Integer> feasibleTail(int row, int[] maxFreeVolume, int volume, VectorMask<Integer> inRange) {
+        return IntVector.fromArray(INTS, maxFreeVolume, row, inRange)
+                .compare(VectorOperators.GE, volume, inRange);
+    }
+
+    private static IntVector timeTail(int row, int[] x, int[] y, int[] speed, int targetX, int targetY, VectorMask<Integer> inRange) {
+        IntVector distance = IntVector.fromArray(INTS, x, row, inRange).sub(targetX).abs()
+                .add(IntVector.fromArray(INTS, y, row, inRange).sub(targetY).abs());
+        // За концом парка скорость 0 - подставляем 1, чтобы не делить на ноль
+        IntVector divisor = IntVector.broadcast(INTS, 1).blend(IntVector.fromArray(INTS, speed, row, inRange), inRange);
+        return time(distance, divisor);
+    }
+}